@@ -1,26 +1,67 @@
 package com.tickethub.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.tickethub.entity.User;
 import com.tickethub.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.tickethub.services.UserChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 
+/**
+ * Loads users for authentication through a bounded cache keyed by email. Concurrent misses for the
+ * same email share one query, unknown emails are not cached, and entries are evicted after commit
+ * when the user's role or password changes; the TTL bounds how long a change made on another
+ * instance can go unseen. Callers get a copy, because Spring Security erases the credentials of
+ * the principal it authenticated and must not reach the cached instance.
+ */
 @Service
-@RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final Cache<String, UserDetails> cache;
+
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    @Value("${tickethub.security.user-cache.max-size:10000}") long maxSize,
+                                    @Value("${tickethub.security.user-cache.ttl:5m}") Duration ttl,
+                                    MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user-details");
+    }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        UserDetails cached = cache.get(email, this::load);
+        return org.springframework.security.core.userdetails.User.withUserDetails(cached).build();
+    }
+
+    public void evict(String email) {
+        cache.invalidate(email);
+    }
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent change) {
+        evict(change.getEmail());
+    }
+
+    private UserDetails load(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
@@ -35,4 +76,3 @@ public class CustomUserDetailsService implements UserDetailsService {
         return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
     }
 }
-
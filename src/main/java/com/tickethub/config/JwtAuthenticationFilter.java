@@ -1,14 +1,18 @@
 package com.tickethub.config;
 
+import com.tickethub.revocation.TokenRevocationStore;
 import com.tickethub.services.JwtService;
+import com.tickethub.services.TokenVersionService;
+import com.tickethub.services.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -16,13 +20,41 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Locale;
+import java.util.Optional;
 
+/**
+ * Authenticates bearer tokens. With {@code tickethub.security.auth-mode=claims} the principal is
+ * built from the verified {@code role} and {@code userId} claims, and the only state consulted is
+ * in memory, so an authenticated request runs no SQL: a role change bumps the user's version in the
+ * {@link TokenVersionService}, which retires older tokens, and logout adds the token's id to the
+ * {@link TokenRevocationStore}. {@code database} loads the user on every request instead. Tokens
+ * without those claims always take the database path.
+ */
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    public enum AuthMode {
+        DATABASE, CLAIMS
+    }
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final AuthMode authMode;
+
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   UserDetailsService userDetailsService,
+                                   TokenVersionService tokenVersionService,
+                                   TokenRevocationStore tokenRevocationStore,
+                                   @Value("${tickethub.security.auth-mode:claims}") String authMode) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.tokenVersionService = tokenVersionService;
+        this.tokenRevocationStore = tokenRevocationStore;
+        this.authMode = AuthMode.valueOf(authMode.trim().toUpperCase(Locale.ROOT));
+    }
 
     @Override
     protected void doFilterInternal(
@@ -31,32 +63,52 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
+        // Verified and decoded once; everything below works off the decoded claims
+        Optional<VerifiedToken> verified = jwtService.verify(authHeader.substring(7));
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+        if (verified.isPresent() && verified.get().subject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            VerifiedToken token = verified.get();
+            if (isActive(token)) {
+                UserDetails userDetails = loadPrincipal(token);
 
-            if (jwtService.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+                if (token.subject().equals(userDetails.getUsername())) {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                    );
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    request.setAttribute(VerifiedToken.REQUEST_ATTRIBUTE, token);
+                }
             }
         }
 
         filterChain.doFilter(request, response);
     }
-}
 
+    // Both checks are in-memory lookups; tokens issued before versioning or ids carry neither claim
+    private boolean isActive(VerifiedToken token) {
+        if (token.tokenId() != null && tokenRevocationStore.isRevoked(token.tokenId())) {
+            return false;
+        }
+        return token.userId() == null || tokenVersionService.isCurrent(token.userId(), token.version());
+    }
+
+    private UserDetails loadPrincipal(VerifiedToken token) {
+        if (authMode == AuthMode.CLAIMS && token.userId() != null && token.role() != null) {
+            return User.withUsername(token.subject())
+                    .password("")
+                    .roles(token.role())
+                    .build();
+        }
+        return this.userDetailsService.loadUserByUsername(token.subject());
+    }
+}
@@ -0,0 +1,30 @@
+package com.tickethub.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Exposes PostgreSQL full-text operators to criteria queries. Registered through
+ * META-INF/services so Hibernate picks it up at bootstrap.
+ */
+public class PostgresSearchFunctionContributor implements FunctionContributor {
+
+    public static final String MATCH = "fts_match";
+    public static final String RANK = "fts_rank";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+
+        functionContributions.getFunctionRegistry().registerPattern(
+                MATCH,
+                "(?1 @@ websearch_to_tsquery('english', ?2))",
+                types.resolve(StandardBasicTypes.BOOLEAN));
+        functionContributions.getFunctionRegistry().registerPattern(
+                RANK,
+                "ts_rank(?1, websearch_to_tsquery('english', ?2))",
+                types.resolve(StandardBasicTypes.DOUBLE));
+    }
+}
@@ -1,8 +1,12 @@
 package com.tickethub.config;
 
+import com.tickethub.idempotency.IdempotencyFilter;
+import com.tickethub.ratelimit.PurchaseRateLimitFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -25,8 +29,15 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final PurchaseRateLimitFilter purchaseRateLimitFilter;
+    private final IdempotencyFilter idempotencyFilter;
     private final UserDetailsService userDetailsService;
 
+    // BCrypt cost factor: each step doubles the work. Stored hashes made at a lower cost are
+    // re-hashed at this one on the user's next login
+    @Value("${tickethub.security.password-hashing.strength:10}")
+    private int bcryptStrength;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -37,16 +48,23 @@ public class SecurityConfig {
                         .requestMatchers("/api/env").permitAll()
                         .requestMatchers("/api/venues").permitAll()
                         .requestMatchers("/api/venues/**").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/events/**").authenticated()
+                        .requestMatchers(HttpMethod.DELETE, "/api/events/**").authenticated()
                         .requestMatchers("/api/events").permitAll()
                         .requestMatchers("/api/events/**").permitAll()
                         .requestMatchers("/api/admin/**").authenticated()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // Throttling comes before idempotency so a flood of retries cannot bypass it through replays
+                .addFilterAfter(purchaseRateLimitFilter, JwtAuthenticationFilter.class)
+                .addFilterAfter(idempotencyFilter, PurchaseRateLimitFilter.class);
 
         return http.build();
     }
@@ -66,7 +84,7 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 }
 
@@ -0,0 +1,27 @@
+package com.tickethub.controller;
+
+import com.tickethub.dto.userDto.ChangeRoleRequest;
+import com.tickethub.dto.userDto.UserResponseDTO;
+import com.tickethub.services.UserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminUserController {
+
+    private final UserService userService;
+
+    @PutMapping("/{id}/role")
+    public ResponseEntity<UserResponseDTO> changeRole(
+            @PathVariable Long id,
+            @Valid @RequestBody ChangeRoleRequest request) {
+        UserResponseDTO user = userService.changeRole(id, request.getRole());
+        return ResponseEntity.ok(user);
+    }
+}
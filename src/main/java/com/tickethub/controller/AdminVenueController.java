@@ -1,8 +1,11 @@
 package com.tickethub.controller;
 
+import com.tickethub.dto.seatingDto.CreateSectionRequest;
+import com.tickethub.dto.seatingDto.SectionResponse;
 import com.tickethub.dto.venueDto.CreateVenueRequest;
 import com.tickethub.dto.venueDto.UpdateVenueRequest;
 import com.tickethub.dto.venueDto.VenueResponse;
+import com.tickethub.services.SeatingService;
 import com.tickethub.services.VenueService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
 public class AdminVenueController {
 
     private final VenueService venueService;
+    private final SeatingService seatingService;
 
     @PostMapping
     public ResponseEntity<VenueResponse> createVenue(@Valid @RequestBody CreateVenueRequest request) {
@@ -33,6 +37,14 @@ public class AdminVenueController {
         return ResponseEntity.ok(venue);
     }
 
+    @PostMapping("/{id}/sections")
+    public ResponseEntity<SectionResponse> addSection(
+            @PathVariable Long id,
+            @Valid @RequestBody CreateSectionRequest request) {
+        SectionResponse section = seatingService.addSection(id, request);
+        return new ResponseEntity<>(section, HttpStatus.CREATED);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteVenue(@PathVariable Long id) {
         venueService.deleteVenue(id);
@@ -4,8 +4,13 @@ import com.tickethub.dto.authDto.LoginRequestDTO;
 import com.tickethub.dto.authDto.LoginResponseDTO;
 import com.tickethub.dto.authDto.RegisterRequestDTO;
 import com.tickethub.dto.userDto.UserResponseDTO;
+import com.tickethub.exception.InvalidCredentialsException;
+import com.tickethub.revocation.TokenRevocationStore;
 import com.tickethub.services.JwtService;
+import com.tickethub.services.TokenVersionService;
 import com.tickethub.services.UserService;
+import com.tickethub.services.VerifiedToken;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -19,6 +24,8 @@ public class AuthController {
 
     private final UserService userService;
     private final JwtService jwtService;
+    private final TokenVersionService tokenVersionService;
+    private final TokenRevocationStore tokenRevocationStore;
 
     @PostMapping("/register")
     public ResponseEntity<UserResponseDTO> register(@Valid @RequestBody RegisterRequestDTO request) {
@@ -29,7 +36,8 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<LoginResponseDTO> login(@Valid @RequestBody LoginRequestDTO request) {
         UserResponseDTO user = userService.loginUser(request);
-        String token = jwtService.generateToken(user.getEmail(), user.getRole(), user.getId());
+        String token = jwtService.generateToken(user.getEmail(), user.getRole(), user.getId(),
+                tokenVersionService.issueVersion(user.getId()));
         
         LoginResponseDTO response = new LoginResponseDTO();
         response.setToken(token);
@@ -39,6 +47,17 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(HttpServletRequest request) {
+        // Set by the JWT filter once the bearer token has been verified
+        VerifiedToken token = (VerifiedToken) request.getAttribute(VerifiedToken.REQUEST_ATTRIBUTE);
+        if (token == null || token.tokenId() == null) {
+            throw new InvalidCredentialsException("A valid bearer token is required to log out");
+        }
+        tokenRevocationStore.revoke(token.tokenId(), token.userId(), token.expiresAt());
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
     @PostMapping("/register/admin")
     public ResponseEntity<UserResponseDTO> registerAdmin(@Valid @RequestBody RegisterRequestDTO request) {
         UserResponseDTO user = userService.registerAdminUser(request);
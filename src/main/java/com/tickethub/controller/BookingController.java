@@ -0,0 +1,31 @@
+package com.tickethub.controller;
+
+import com.tickethub.dto.bookingDto.BookingResponse;
+import com.tickethub.dto.bookingDto.CreateBookingRequest;
+import com.tickethub.services.BookingService;
+import com.tickethub.services.WaitingRoomService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/events/{eventId}/bookings")
+@RequiredArgsConstructor
+public class BookingController {
+    private final BookingService bookingService;
+    private final WaitingRoomService waitingRoomService;
+
+    @PostMapping
+    public ResponseEntity<BookingResponse> createBooking(
+            @PathVariable Long eventId,
+            @Valid @RequestBody CreateBookingRequest request,
+            @RequestHeader(value = WaitingRoomController.QUEUE_TOKEN_HEADER, required = false) String queueToken,
+            Authentication authentication) {
+        waitingRoomService.requireAdmission(eventId, queueToken, authentication.getName());
+        BookingResponse booking = bookingService.bookTickets(eventId, request.getQuantity(), authentication.getName());
+        return new ResponseEntity<>(booking, HttpStatus.CREATED);
+    }
+}
@@ -1,13 +1,18 @@
 package com.tickethub.controller;
 
+import com.tickethub.dto.eventDto.EventFacetsResponse;
 import com.tickethub.dto.eventDto.EventResponse;
 import com.tickethub.dto.eventDto.EventSummaryResponse;
+import com.tickethub.dto.pageDto.CursorPageResponse;
+import com.tickethub.dto.pageDto.EstimatedPageResponse;
 import com.tickethub.enums.EventCategory;
 import com.tickethub.enums.EventStatus;
+import com.tickethub.services.EventDetailCache;
 import com.tickethub.services.EventService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -46,13 +51,81 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    @GetMapping(params = "mode=cursor")
+    public ResponseEntity<CursorPageResponse<EventSummaryResponse>> scrollEvents(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) EventCategory category,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @PageableDefault(size = 20) Pageable pageable) {
+
+        CursorPageResponse<EventSummaryResponse> events = eventService.scrollEvents(
+                q, category, city, startDate, endDate, minPrice, maxPrice,
+                cursor, pageable.getPageSize(), includeTotal);
+        return ResponseEntity.ok(events);
+    }
+
+    @GetMapping(params = "mode=slice")
+    public ResponseEntity<Slice<EventSummaryResponse>> sliceEvents(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) EventCategory category,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @PageableDefault(size = 20, sort = "eventDateTime") Pageable pageable) {
+
+        Slice<EventSummaryResponse> events = eventService.sliceEvents(
+                q, category, city, startDate, endDate, minPrice, maxPrice, pageable);
+        return ResponseEntity.ok(events);
+    }
+
+    @GetMapping(params = "mode=estimate")
+    public ResponseEntity<EstimatedPageResponse<EventSummaryResponse>> searchWithEstimatedTotal(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) EventCategory category,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @PageableDefault(size = 20, sort = "eventDateTime") Pageable pageable) {
+
+        EstimatedPageResponse<EventSummaryResponse> events = eventService.searchWithEstimatedTotal(
+                q, category, city, startDate, endDate, minPrice, maxPrice, pageable);
+        return ResponseEntity.ok(events);
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<EventFacetsResponse> getEventFacets(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) EventCategory category,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice) {
+
+        EventFacetsResponse facets = eventService.getEventFacets(
+                q, category, city, startDate, endDate, minPrice, maxPrice);
+        return ResponseEntity.ok(facets);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<EventResponse> getEventById(@PathVariable Long id) {
         EventResponse event = eventService.getEventById(id);
         if (event.getStatus() != EventStatus.PUBLISHED) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(event);
+
+        // Spring answers a matching If-None-Match with 304 and no body
+        return ResponseEntity.ok().eTag(EventDetailCache.etagOf(event)).body(event);
     }
 }
 
@@ -0,0 +1,40 @@
+package com.tickethub.controller;
+
+import com.tickethub.dto.seatingDto.SeatReservationRequest;
+import com.tickethub.dto.seatingDto.SeatSelectionResponse;
+import com.tickethub.services.SeatingService;
+import com.tickethub.services.WaitingRoomService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/events/{eventId}/seats")
+@RequiredArgsConstructor
+public class SeatingController {
+    private final SeatingService seatingService;
+    private final WaitingRoomService waitingRoomService;
+
+    @GetMapping("/best")
+    public ResponseEntity<SeatSelectionResponse> findBestAvailable(
+            @PathVariable Long eventId,
+            @RequestParam(defaultValue = "2") int quantity) {
+        int boundedQuantity = Math.max(1, Math.min(quantity, 10));
+        return ResponseEntity.ok(seatingService.findBestAvailable(eventId, boundedQuantity));
+    }
+
+    @PostMapping
+    public ResponseEntity<SeatSelectionResponse> reserveSeats(
+            @PathVariable Long eventId,
+            @Valid @RequestBody SeatReservationRequest request,
+            @RequestHeader(value = WaitingRoomController.QUEUE_TOKEN_HEADER, required = false) String queueToken,
+            Authentication authentication) {
+        waitingRoomService.requireAdmission(eventId, queueToken, authentication.getName());
+        SeatSelectionResponse seats = seatingService.reserveBestAvailable(
+                eventId, request.getQuantity(), authentication.getName());
+        return new ResponseEntity<>(seats, HttpStatus.CREATED);
+    }
+}
@@ -0,0 +1,48 @@
+package com.tickethub.controller;
+
+import com.tickethub.dto.bookingDto.CreateHoldRequest;
+import com.tickethub.dto.bookingDto.HoldResponse;
+import com.tickethub.services.TicketHoldService;
+import com.tickethub.services.WaitingRoomService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/events/{eventId}/holds")
+@RequiredArgsConstructor
+public class TicketHoldController {
+    private final TicketHoldService ticketHoldService;
+    private final WaitingRoomService waitingRoomService;
+
+    @PostMapping
+    public ResponseEntity<HoldResponse> placeHold(
+            @PathVariable Long eventId,
+            @Valid @RequestBody CreateHoldRequest request,
+            @RequestHeader(value = WaitingRoomController.QUEUE_TOKEN_HEADER, required = false) String queueToken,
+            Authentication authentication) {
+        waitingRoomService.requireAdmission(eventId, queueToken, authentication.getName());
+        HoldResponse hold = ticketHoldService.placeHold(eventId, request.getQuantity(), authentication.getName());
+        return new ResponseEntity<>(hold, HttpStatus.CREATED);
+    }
+
+    @PostMapping("/{holdId}/confirm")
+    public ResponseEntity<HoldResponse> confirmHold(
+            @PathVariable Long eventId,
+            @PathVariable Long holdId,
+            Authentication authentication) {
+        return ResponseEntity.ok(ticketHoldService.confirmHold(eventId, holdId, authentication.getName()));
+    }
+
+    @DeleteMapping("/{holdId}")
+    public ResponseEntity<Void> releaseHold(
+            @PathVariable Long eventId,
+            @PathVariable Long holdId,
+            Authentication authentication) {
+        ticketHoldService.releaseHold(eventId, holdId, authentication.getName());
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
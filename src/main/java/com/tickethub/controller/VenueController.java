@@ -1,6 +1,9 @@
 package com.tickethub.controller;
 
+import com.tickethub.dto.seatingDto.SectionResponse;
+import com.tickethub.dto.venueDto.CitySuggestionResponse;
 import com.tickethub.dto.venueDto.VenueResponse;
+import com.tickethub.services.SeatingService;
 import com.tickethub.services.VenueService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -13,16 +16,28 @@ import java.util.List;
 @RequiredArgsConstructor
 public class VenueController {
     private final VenueService venueService;
+    private final SeatingService seatingService;
     @GetMapping
     public ResponseEntity<List<VenueResponse>> getAllVenues() {
         List<VenueResponse> venues = venueService.getAllVenues();
         return ResponseEntity.ok(venues);
     }
 
+    @GetMapping("/cities")
+    public ResponseEntity<List<CitySuggestionResponse>> suggestCities(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(venueService.suggestCities(prefix, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<VenueResponse> getVenueById(@PathVariable Long id) {
         VenueResponse venue = venueService.getVenueById(id);
         return ResponseEntity.ok(venue);
     }
-}
 
+    @GetMapping("/{id}/sections")
+    public ResponseEntity<List<SectionResponse>> getSections(@PathVariable Long id) {
+        return ResponseEntity.ok(seatingService.getSections(id));
+    }
+}
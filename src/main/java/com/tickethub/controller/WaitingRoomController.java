@@ -0,0 +1,37 @@
+package com.tickethub.controller;
+
+import com.tickethub.dto.queueDto.QueueStatusResponse;
+import com.tickethub.services.WaitingRoomService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events/{eventId}/queue")
+@RequiredArgsConstructor
+public class WaitingRoomController {
+    public static final String QUEUE_TOKEN_HEADER = "X-Queue-Token";
+
+    private final WaitingRoomService waitingRoomService;
+
+    @PostMapping
+    public ResponseEntity<QueueStatusResponse> joinQueue(@PathVariable Long eventId, Authentication authentication) {
+        return ResponseEntity.ok(waitingRoomService.join(eventId, authentication.getName()));
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<QueueStatusResponse> getQueueStatus(
+            @PathVariable Long eventId,
+            @RequestHeader(QUEUE_TOKEN_HEADER) String queueToken) {
+        return ResponseEntity.ok(waitingRoomService.status(eventId, queueToken));
+    }
+
+    // EventSource cannot send headers, so the stream takes the token as a parameter
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamQueueStatus(@PathVariable Long eventId, @RequestParam String token) {
+        return waitingRoomService.stream(eventId, token);
+    }
+}
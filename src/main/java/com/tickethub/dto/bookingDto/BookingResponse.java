@@ -0,0 +1,14 @@
+package com.tickethub.dto.bookingDto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingResponse {
+    private Long eventId;
+    private Integer quantity;
+    private Integer remainingTickets;
+}
@@ -0,0 +1,19 @@
+package com.tickethub.dto.bookingDto;
+
+import com.tickethub.enums.HoldStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HoldResponse {
+    private Long id;
+    private Long eventId;
+    private Integer quantity;
+    private HoldStatus status;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,47 @@
+package com.tickethub.dto.eventDto;
+
+import com.tickethub.exception.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the event listing: the (eventDateTime, id) of the last row a client has seen.
+ * Serialized as an opaque URL-safe token so clients never depend on its layout.
+ */
+@Getter
+@AllArgsConstructor
+public class EventCursor {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime eventDateTime;
+    private final Long id;
+
+    public static EventCursor of(EventSummaryResponse event) {
+        return new EventCursor(event.getEventDateTime(), event.getId());
+    }
+
+    public String encode() {
+        String raw = VERSION + SEPARATOR + eventDateTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EventCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new InvalidCursorException("Invalid cursor: " + token);
+            }
+            return new EventCursor(LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.tickethub.dto.eventDto;
+
+import com.tickethub.enums.EventCategory;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventFacetsResponse {
+    private long total;
+    private Map<EventCategory, Long> categories;
+    private Map<String, Long> cities;
+    private List<PriceBucketFacet> priceBuckets;
+}
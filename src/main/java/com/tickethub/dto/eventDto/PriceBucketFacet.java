@@ -0,0 +1,18 @@
+package com.tickethub.dto.eventDto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceBucketFacet {
+    // Inclusive lower bound
+    private BigDecimal minPrice;
+    // Exclusive upper bound, null for the open-ended top bucket
+    private BigDecimal maxPrice;
+    private long count;
+}
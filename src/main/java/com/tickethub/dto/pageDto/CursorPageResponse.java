@@ -0,0 +1,19 @@
+package com.tickethub.dto.pageDto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+    // Only populated when the client asks for it, since it costs a COUNT over the filtered set
+    private Long totalElements;
+}
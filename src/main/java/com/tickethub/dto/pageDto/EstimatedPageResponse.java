@@ -0,0 +1,19 @@
+package com.tickethub.dto.pageDto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EstimatedPageResponse<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    // Planner row estimate for the filters, not an exact count
+    private long estimatedTotal;
+}
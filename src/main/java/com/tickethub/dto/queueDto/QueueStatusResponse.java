@@ -0,0 +1,17 @@
+package com.tickethub.dto.queueDto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QueueStatusResponse {
+    private Long eventId;
+    private String queueToken;
+    private Long position;
+    private Long peopleAhead;
+    private Boolean admitted;
+    private Long estimatedWaitSeconds;
+}
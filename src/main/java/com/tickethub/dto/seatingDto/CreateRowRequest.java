@@ -0,0 +1,21 @@
+package com.tickethub.dto.seatingDto;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateRowRequest {
+
+    @NotBlank(message = "Row label is required")
+    @Size(max = 20, message = "Row label cannot exceed 20 characters")
+    private String label;
+
+    @NotNull(message = "Seat count is required")
+    @Min(value = 1, message = "Seat count must be at least 1")
+    @Max(value = 1000, message = "Seat count cannot exceed 1000 per row")
+    private Integer seatCount;
+}
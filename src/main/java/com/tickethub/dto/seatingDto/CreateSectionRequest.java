@@ -0,0 +1,27 @@
+package com.tickethub.dto.seatingDto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateSectionRequest {
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name cannot exceed 100 characters")
+    private String name;
+
+    @NotNull(message = "Rank is required")
+    @Min(value = 0, message = "Rank cannot be negative")
+    private Integer rank;
+
+    @NotEmpty(message = "At least one row is required")
+    @Valid
+    private List<CreateRowRequest> rows;
+}
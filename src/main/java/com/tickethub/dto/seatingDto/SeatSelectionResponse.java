@@ -0,0 +1,20 @@
+package com.tickethub.dto.seatingDto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatSelectionResponse {
+    private Long eventId;
+    private Long sectionId;
+    private String sectionName;
+    private String rowLabel;
+    private List<Integer> seatNumbers;
+    // Only set once the seats are reserved
+    private Integer remainingTickets;
+}
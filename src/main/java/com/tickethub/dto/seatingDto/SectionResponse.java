@@ -0,0 +1,17 @@
+package com.tickethub.dto.seatingDto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SectionResponse {
+    private Long id;
+    private Long venueId;
+    private String name;
+    private Integer rank;
+    private Integer rowCount;
+    private Integer seatCount;
+}
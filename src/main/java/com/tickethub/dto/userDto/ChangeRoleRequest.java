@@ -0,0 +1,16 @@
+package com.tickethub.dto.userDto;
+
+import com.tickethub.enums.Roles;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeRoleRequest {
+
+    @NotNull(message = "Role is required")
+    private Roles role;
+}
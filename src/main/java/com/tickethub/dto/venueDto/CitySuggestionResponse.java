@@ -0,0 +1,13 @@
+package com.tickethub.dto.venueDto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CitySuggestionResponse {
+    private String city;
+    private int venueCount;
+}
@@ -5,6 +5,7 @@ import com.tickethub.enums.EventStatus;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -12,6 +13,9 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "events")
+// Only changed columns are written: inventory SQL moves available_tickets and status without
+// bumping the version, and an admin edit must not write back the values it loaded
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -67,6 +71,16 @@ public class Event {
     @JoinColumn(name = "created_by_user_id", nullable = false)
     private User createdBy;
 
+    // Generated by the database from name and artist name; only used by full-text predicates
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(insertable = false, updatable = false, columnDefinition = "tsvector")
+    private String searchVector;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,32 @@
+package com.tickethub.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "venue_rows")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VenueRow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "section_id", nullable = false)
+    private VenueSection section;
+
+    @Column(nullable = false, length = 20)
+    private String label;
+
+    // Front row is 0
+    @Column(nullable = false)
+    private Integer rowOrder;
+
+    @Column(nullable = false)
+    private Integer seatCount;
+}
@@ -0,0 +1,8 @@
+package com.tickethub.enums;
+
+public enum HoldStatus {
+    ACTIVE,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
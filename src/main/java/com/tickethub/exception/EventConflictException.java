@@ -0,0 +1,7 @@
+package com.tickethub.exception;
+
+public class EventConflictException extends RuntimeException {
+    public EventConflictException(String message) {
+        super(message);
+    }
+}
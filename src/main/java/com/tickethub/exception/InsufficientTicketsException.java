@@ -0,0 +1,7 @@
+package com.tickethub.exception;
+
+public class InsufficientTicketsException extends RuntimeException {
+    public InsufficientTicketsException(String message) {
+        super(message);
+    }
+}
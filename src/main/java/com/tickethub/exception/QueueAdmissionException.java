@@ -0,0 +1,7 @@
+package com.tickethub.exception;
+
+public class QueueAdmissionException extends RuntimeException {
+    public QueueAdmissionException(String message) {
+        super(message);
+    }
+}
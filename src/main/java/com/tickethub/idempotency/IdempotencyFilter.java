@@ -0,0 +1,203 @@
+package com.tickethub.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickethub.exception.GlobalExceptionHandler.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Honours the {@code Idempotency-Key} header on mutating requests to the configured paths. Runs after
+ * {@link com.tickethub.config.JwtAuthenticationFilter} so keys are scoped to the caller: the same key
+ * from two users never collides. A retry with the same key and body gets the first response back
+ * (marked {@code Idempotent-Replayed: true}) without reaching the controller.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final List<String> paths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public IdempotencyFilter(IdempotencyStore store,
+                             ObjectMapper objectMapper,
+                             @Value("${tickethub.idempotency.enabled:true}") boolean enabled,
+                             @Value("${tickethub.idempotency.paths:/api/admin/**,/api/events/**}") List<String> paths) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.paths = paths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!enabled || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !MUTATING_METHODS.contains(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return paths.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        // Unauthenticated requests are turned away further down the chain; there is no caller to scope the key to
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, IDEMPOTENCY_KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        byte[] body = request.getInputStream().readAllBytes();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String scopeHash = sha256(String.join("\n", authentication.getName(), request.getMethod(), path, key)
+                .getBytes(StandardCharsets.UTF_8));
+        String query = request.getQueryString() == null ? "" : request.getQueryString();
+        String requestHash = sha256((query + "\n").getBytes(StandardCharsets.UTF_8), body);
+
+        HttpServletRequest replayableRequest = new CachedBodyRequest(request, body);
+        ContentCachingResponseWrapper capturedResponse = new ContentCachingResponseWrapper(response);
+        IdempotencyStore.Result result;
+        try {
+            result = store.execute(scopeHash, requestHash, () -> {
+                filterChain.doFilter(replayableRequest, capturedResponse);
+                return new StoredResponse(requestHash, capturedResponse.getStatus(),
+                        capturedResponse.getContentType(), capturedResponse.getContentAsByteArray());
+            });
+        } catch (IOException | ServletException | RuntimeException e) {
+            capturedResponse.copyBodyToResponse();
+            throw e;
+        }
+
+        switch (result.outcome()) {
+            case EXECUTED -> capturedResponse.copyBodyToResponse();
+            case REPLAYED -> replay(response, result.response());
+            case IN_PROGRESS -> reject(response, HttpStatus.CONFLICT,
+                    "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed");
+            case KEY_REUSED -> reject(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+        }
+    }
+
+    private void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(status.value(), message, LocalDateTime.now()));
+    }
+
+    private static String sha256(byte[]... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte[] part : parts) {
+                digest.update(part);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    // The body is read up front to hash it, so the rest of the chain reads this copy
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Asynchronous reads are not supported");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() == null ? StandardCharsets.UTF_8.name() : getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.tickethub.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tickethub.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.ServletException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs each idempotent request once. A bounded, TTL-evicting in-memory map from key to the future
+ * of its first response makes concurrent duplicates on this instance wait for that response and
+ * serves replays without a database round trip. The {@code idempotency_keys} table backs it up: a
+ * key is claimed there before the request runs, which holds off duplicates reaching other instances,
+ * and the stored response answers retries after a restart or an eviction from memory. The claim is a
+ * lease of {@code wait-timeout}, renewed while the request runs, so a slow request keeps its key and a
+ * crashed instance's keys free up on their own.
+ * <p>
+ * Metrics are published under {@code cache.*{cache=idempotency}}.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    public enum Outcome {
+        /** This request ran; its response is being sent as usual. */
+        EXECUTED,
+        /** An earlier request with the key already ran; its response is returned instead. */
+        REPLAYED,
+        /** The first request with the key is still running and did not finish within the wait timeout. */
+        IN_PROGRESS,
+        /** The key was first used with a different request. */
+        KEY_REUSED
+    }
+
+    public record Result(Outcome outcome, StoredResponse response) {
+    }
+
+    @FunctionalInterface
+    public interface Execution {
+        StoredResponse run() throws IOException, ServletException;
+    }
+
+    private final IdempotencyKeyRepository repository;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    // Completed with null when the first request left nothing to replay
+    private final Cache<String, CompletableFuture<StoredResponse>> responses;
+    // Keys claimed in the table by requests running on this instance
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    public IdempotencyStore(IdempotencyKeyRepository repository,
+                            @Value("${tickethub.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${tickethub.idempotency.max-entries:10000}") long maxEntries,
+                            @Value("${tickethub.idempotency.wait-timeout:30s}") Duration waitTimeout,
+                            MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "idempotency");
+    }
+
+    public Result execute(String scopeHash, String requestHash, Execution execution) throws IOException, ServletException {
+        while (true) {
+            CompletableFuture<StoredResponse> claim = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> first = responses.asMap().putIfAbsent(scopeHash, claim);
+            if (first == null) {
+                return executeClaimed(scopeHash, requestHash, claim, execution);
+            }
+
+            StoredResponse stored;
+            try {
+                stored = first.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                return new Result(Outcome.IN_PROGRESS, null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new Result(Outcome.IN_PROGRESS, null);
+            } catch (ExecutionException e) {
+                stored = null;
+            }
+            if (stored != null) {
+                return replay(stored, requestHash);
+            }
+            // Nothing to replay, so this duplicate becomes the next attempt
+            responses.asMap().remove(scopeHash, first);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tickethub.idempotency.cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = repository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tickethub.idempotency.lease-renew-interval-ms:10000}")
+    public void renewLeases() {
+        try {
+            repository.renewLeases(List.copyOf(running), LocalDateTime.now().plus(waitTimeout));
+        } catch (RuntimeException e) {
+            log.warn("Could not renew idempotency key leases", e);
+        }
+    }
+
+    private Result executeClaimed(String scopeHash, String requestHash, CompletableFuture<StoredResponse> claim,
+                                  Execution execution) throws IOException, ServletException {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            if (!repository.claim(scopeHash, requestHash, now.plus(waitTimeout), now)) {
+                Optional<StoredResponse> stored = repository.findCompleted(scopeHash);
+                if (stored.isEmpty()) {
+                    abandon(scopeHash, claim);
+                    return new Result(Outcome.IN_PROGRESS, null);
+                }
+                claim.complete(stored.get());
+                return replay(stored.get(), requestHash);
+            }
+        } catch (RuntimeException e) {
+            abandon(scopeHash, claim);
+            throw e;
+        }
+
+        running.add(scopeHash);
+        try {
+            return run(scopeHash, requestHash, claim, execution);
+        } finally {
+            running.remove(scopeHash);
+        }
+    }
+
+    private Result run(String scopeHash, String requestHash, CompletableFuture<StoredResponse> claim,
+                       Execution execution) throws IOException, ServletException {
+        StoredResponse response;
+        try {
+            response = execution.run();
+        } catch (IOException | ServletException | RuntimeException e) {
+            forget(scopeHash, requestHash, claim);
+            throw e;
+        }
+
+        if (!response.isReplayable()) {
+            forget(scopeHash, requestHash, claim);
+            return new Result(Outcome.EXECUTED, response);
+        }
+        try {
+            if (!repository.complete(scopeHash, requestHash, response, LocalDateTime.now().plus(ttl))) {
+                log.warn("Idempotency key claim lapsed before its response was stored; not persisted");
+            }
+        } catch (RuntimeException e) {
+            // The in-memory entry still answers retries that reach this instance
+            log.warn("Could not persist the response for an idempotency key", e);
+        }
+        claim.complete(response);
+        return new Result(Outcome.EXECUTED, response);
+    }
+
+    private Result replay(StoredResponse stored, String requestHash) {
+        return stored.requestHash().equals(requestHash)
+                ? new Result(Outcome.REPLAYED, stored)
+                : new Result(Outcome.KEY_REUSED, null);
+    }
+
+    private void forget(String scopeHash, String requestHash, CompletableFuture<StoredResponse> claim) {
+        try {
+            repository.release(scopeHash, requestHash);
+        } catch (RuntimeException e) {
+            log.warn("Could not release an idempotency key claim; it lapses after {}", waitTimeout, e);
+        }
+        abandon(scopeHash, claim);
+    }
+
+    private void abandon(String scopeHash, CompletableFuture<StoredResponse> claim) {
+        responses.asMap().remove(scopeHash, claim);
+        claim.complete(null);
+    }
+}
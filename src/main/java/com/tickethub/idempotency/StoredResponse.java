@@ -0,0 +1,16 @@
+package com.tickethub.idempotency;
+
+/**
+ * What a replay sends back: the first response to an idempotent request, plus the hash of the request
+ * that produced it so a key reused for a different request can be rejected.
+ */
+public record StoredResponse(String requestHash, int status, String contentType, byte[] body) {
+
+    /**
+     * Server errors, authentication failures, conflicts and throttling say nothing final about the
+     * request, so the client's retry runs it again instead of replaying them.
+     */
+    public boolean isReplayable() {
+        return status < 500 && status != 401 && status != 403 && status != 408 && status != 409 && status != 429;
+    }
+}
@@ -0,0 +1,230 @@
+package com.tickethub.inventory;
+
+import com.tickethub.repository.EventInventoryView;
+import com.tickethub.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Group commit for reservations: concurrent requests for the same event are collected for up to
+ * {@code window-ms} (or until {@code max-batch} are waiting) and applied in one transaction that locks
+ * the events row once, grants requests in arrival order while tickets last, and writes the new count
+ * with a single UPDATE. Each caller still gets its own outcome.
+ * <p>
+ * There is no combiner thread: the first caller to find an event idle becomes its leader and runs
+ * batches until the queue is empty, then steps down. After {@value #MAX_LEADER_ROUNDS} batches it
+ * hands leadership to the oldest waiting caller instead, so no caller keeps working for others
+ * indefinitely.
+ * <p>
+ * Only callers outside a transaction are batched. A batch commits on its own, so a grant made for a
+ * caller inside a transaction would survive that caller's rollback, and the caller's connection
+ * would sit idle while the leader needs another one for the batch. Such callers get the plain
+ * conditional UPDATE in their own transaction instead, which rolls back with it.
+ */
+@Component
+@ConditionalOnProperty(name = "tickethub.inventory.strategy", havingValue = "coalescing")
+@Slf4j
+public class CoalescingTicketInventory implements TicketInventory {
+
+    static final int MAX_LEADER_ROUNDS = 8;
+
+    private final EventRepository eventRepository;
+    private final SoldOutTransitions soldOutTransitions;
+    private final TransactionTemplate batchTransaction;
+    private final long windowNanos;
+    private final int maxBatch;
+
+    private final Map<Long, EventQueue> queues = new ConcurrentHashMap<>();
+
+    public CoalescingTicketInventory(EventRepository eventRepository,
+                                     SoldOutTransitions soldOutTransitions,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${tickethub.inventory.coalescing.window-ms:2}") long windowMs,
+                                     @Value("${tickethub.inventory.coalescing.max-batch:64}") int maxBatch) {
+        this.eventRepository = eventRepository;
+        this.soldOutTransitions = soldOutTransitions;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxBatch = maxBatch;
+    }
+
+    @Override
+    public OptionalInt reserve(Long eventId, int quantity) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return reserveInTransaction(eventId, quantity);
+        }
+        Request request = new Request(quantity);
+        EventQueue queue = queues.computeIfAbsent(eventId, id -> new EventQueue());
+        boolean leader;
+        queue.lock.lock();
+        try {
+            queue.pending.add(request);
+            leader = !queue.combining;
+            if (leader) {
+                queue.combining = true;
+            } else if (queue.pending.size() >= maxBatch) {
+                queue.batchFull.signalAll();
+            }
+        } finally {
+            queue.lock.unlock();
+        }
+        if (leader) {
+            lead(eventId, queue);
+        } else {
+            CompletableFuture.anyOf(request.result, request.promoted).join();
+            if (!request.result.isDone()) {
+                lead(eventId, queue);
+            }
+        }
+        try {
+            return request.result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private OptionalInt reserveInTransaction(Long eventId, int quantity) {
+        return eventRepository.reserveTickets(eventId, quantity, LocalDateTime.now())
+                .map(event -> {
+                    soldOutTransitions.publishIfChanged(event, quantity);
+                    return OptionalInt.of(event.getAvailableTickets());
+                })
+                .orElseGet(OptionalInt::empty);
+    }
+
+    @Override
+    public OptionalInt release(Long eventId, int quantity) {
+        return eventRepository.releaseTickets(eventId, quantity, LocalDateTime.now())
+                .map(event -> {
+                    soldOutTransitions.publishIfChanged(event, -quantity);
+                    return OptionalInt.of(event.getAvailableTickets());
+                })
+                .orElseGet(OptionalInt::empty);
+    }
+
+    @Override
+    public OptionalInt available(Long eventId) {
+        return eventRepository.findInventoryByIdAndStatusIn(eventId, ON_SALE)
+                .map(EventInventoryView::getAvailableTickets)
+                .map(OptionalInt::of)
+                .orElseGet(OptionalInt::empty);
+    }
+
+    private void lead(Long eventId, EventQueue queue) {
+        for (int round = 0; round < MAX_LEADER_ROUNDS; round++) {
+            List<Request> batch = collect(queue);
+            if (batch == null) {
+                return;
+            }
+            try {
+                // Callers only learn their outcome once the batch has committed
+                List<Runnable> outcomes = batchTransaction.execute(status -> apply(eventId, batch));
+                outcomes.forEach(Runnable::run);
+            } catch (RuntimeException e) {
+                log.error("Reservation batch of {} requests for event {} failed", batch.size(), eventId, e);
+                batch.forEach(request -> request.result.completeExceptionally(e));
+            }
+        }
+        handOver(queue);
+    }
+
+    // The queue stays marked as combining, so no newcomer can lead alongside the promoted caller
+    private void handOver(EventQueue queue) {
+        queue.lock.lock();
+        try {
+            if (queue.pending.isEmpty()) {
+                queue.combining = false;
+            } else {
+                queue.pending.get(0).promoted.complete(null);
+            }
+        } finally {
+            queue.lock.unlock();
+        }
+    }
+
+    // Waits out the window for the next batch, or steps down when nothing is left. A Condition rather
+    // than Object.wait, which would pin a virtual thread's carrier for the whole window
+    private List<Request> collect(EventQueue queue) {
+        queue.lock.lock();
+        try {
+            if (queue.pending.isEmpty()) {
+                queue.combining = false;
+                return null;
+            }
+            long remaining = windowNanos;
+            while (queue.pending.size() < maxBatch && remaining > 0) {
+                try {
+                    remaining = queue.batchFull.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            List<Request> batch = queue.pending;
+            queue.pending = new ArrayList<>();
+            return batch;
+        } finally {
+            queue.lock.unlock();
+        }
+    }
+
+    private List<Runnable> apply(Long eventId, List<Request> batch) {
+        List<Runnable> outcomes = new ArrayList<>(batch.size());
+        OptionalInt locked = eventRepository.lockAvailableTickets(eventId);
+        if (locked.isEmpty()) {
+            batch.forEach(request -> outcomes.add(() -> request.result.complete(OptionalInt.empty())));
+            return outcomes;
+        }
+        int available = locked.getAsInt();
+        int initial = available;
+        for (Request request : batch) {
+            if (request.quantity <= available) {
+                available -= request.quantity;
+                OptionalInt remaining = OptionalInt.of(available);
+                outcomes.add(() -> request.result.complete(remaining));
+            } else {
+                outcomes.add(() -> request.result.complete(OptionalInt.empty()));
+            }
+        }
+        if (available != initial) {
+            int taken = initial - available;
+            eventRepository.setAvailableTickets(eventId, available, LocalDateTime.now())
+                    .ifPresent(event -> soldOutTransitions.publishIfChanged(event, taken));
+        }
+        return outcomes;
+    }
+
+    private static class Request {
+        private final int quantity;
+        private final CompletableFuture<OptionalInt> result = new CompletableFuture<>();
+        private final CompletableFuture<Void> promoted = new CompletableFuture<>();
+
+        Request(int quantity) {
+            this.quantity = quantity;
+        }
+    }
+
+    private static class EventQueue {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition batchFull = lock.newCondition();
+        private List<Request> pending = new ArrayList<>();
+        private boolean combining;
+    }
+}
@@ -0,0 +1,51 @@
+package com.tickethub.inventory;
+
+import com.tickethub.repository.EventInventoryView;
+import com.tickethub.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.OptionalInt;
+
+/**
+ * Every reservation is one conditional UPDATE on the events row; the database is the only counter.
+ */
+@Component
+@ConditionalOnProperty(name = "tickethub.inventory.strategy", havingValue = "database", matchIfMissing = true)
+@RequiredArgsConstructor
+public class DatabaseTicketInventory implements TicketInventory {
+
+    private final EventRepository eventRepository;
+    private final SoldOutTransitions soldOutTransitions;
+
+    @Override
+    public OptionalInt reserve(Long eventId, int quantity) {
+        return eventRepository.reserveTickets(eventId, quantity, LocalDateTime.now())
+                .map(event -> {
+                    soldOutTransitions.publishIfChanged(event, quantity);
+                    return OptionalInt.of(event.getAvailableTickets());
+                })
+                .orElseGet(OptionalInt::empty);
+    }
+
+    @Override
+    public OptionalInt release(Long eventId, int quantity) {
+        return eventRepository.releaseTickets(eventId, quantity, LocalDateTime.now())
+                .map(event -> {
+                    soldOutTransitions.publishIfChanged(event, -quantity);
+                    return OptionalInt.of(event.getAvailableTickets());
+                })
+                .orElseGet(OptionalInt::empty);
+    }
+
+    // Sold-out events are still on sale as far as callers are concerned: zero left, not missing
+    @Override
+    public OptionalInt available(Long eventId) {
+        return eventRepository.findInventoryByIdAndStatusIn(eventId, TicketInventory.ON_SALE)
+                .map(EventInventoryView::getAvailableTickets)
+                .map(OptionalInt::of)
+                .orElseGet(OptionalInt::empty);
+    }
+}
@@ -0,0 +1,115 @@
+package com.tickethub.inventory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for expiring many timers with O(1) scheduling and no per-timer threads.
+ * Level 0 has {@code wheelSize} buckets of {@code tickMs}; each level above covers the whole span of
+ * the level below per bucket. A level-0 bucket fires once its tick has fully passed, so items expire
+ * at most one tick late and never early. Higher-level buckets cascade down when their range begins,
+ * which is exactly when the level below can hold all of it.
+ * <p>
+ * Not thread-safe; callers serialize access. There is no cancel: owners ignore items they no longer care about.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Level<T>> levels = new ArrayList<>();
+    // Start of the current level-0 tick
+    private long currentTime;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMs - startMs % tickMs;
+        levels.add(new Level<>(tickMs, wheelSize));
+    }
+
+    /**
+     * Schedules the item to fire at {@code expirationMs}. Returns false, without scheduling, when that
+     * time is already behind the wheel's clock; the caller should handle the item now.
+     */
+    public boolean schedule(T item, long expirationMs) {
+        if (expirationMs < currentTime) {
+            return false;
+        }
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                levels.add(new Level<>(levels.get(i - 1).intervalMs, wheelSize));
+            }
+            Level<T> level = levels.get(i);
+            long levelStart = currentTime - currentTime % level.tickMs;
+            if (expirationMs < levelStart + level.intervalMs) {
+                level.bucketFor(expirationMs).add(new Entry<>(item, expirationMs));
+                size++;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Moves the clock forward to {@code nowMs}, handing every item whose expiration has passed to {@code expired}.
+     * Cost is one step per elapsed tick plus one per cascaded or expired item.
+     */
+    public void advance(long nowMs, Consumer<T> expired) {
+        Level<T> wheel = levels.get(0);
+        while (currentTime + tickMs <= nowMs) {
+            Deque<Entry<T>> due = wheel.bucketFor(currentTime);
+            size -= due.size();
+            while (!due.isEmpty()) {
+                expired.accept(due.poll().item);
+            }
+            currentTime += tickMs;
+            cascade();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Highest level first, so entries can fall more than one level in the same step
+    private void cascade() {
+        for (int i = levels.size() - 1; i > 0; i--) {
+            Level<T> level = levels.get(i);
+            if (currentTime % level.tickMs != 0) {
+                continue;
+            }
+            Deque<Entry<T>> bucket = level.bucketFor(currentTime);
+            List<Entry<T>> moving = new ArrayList<>(bucket);
+            bucket.clear();
+            size -= moving.size();
+            for (Entry<T> entry : moving) {
+                schedule(entry.item, entry.expirationMs);
+            }
+        }
+    }
+
+    private record Entry<T>(T item, long expirationMs) {
+    }
+
+    private static class Level<T> {
+        private final long tickMs;
+        private final long intervalMs;
+        private final List<Deque<Entry<T>>> buckets;
+
+        Level(long tickMs, int wheelSize) {
+            this.tickMs = tickMs;
+            this.intervalMs = tickMs * wheelSize;
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new ArrayDeque<>());
+            }
+        }
+
+        Deque<Entry<T>> bucketFor(long timeMs) {
+            return buckets.get((int) ((timeMs / tickMs) % buckets.size()));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.tickethub.inventory;
+
+import com.tickethub.dto.eventDto.EventSummaryResponse;
+import com.tickethub.enums.EventStatus;
+import com.tickethub.services.EventChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * The inventory UPDATEs flip events between PUBLISHED and SOLD_OUT themselves and return the new
+ * listing row. This turns such a row into an {@link EventChangedEvent}, so listings, caches and the
+ * search index drop a sold-out event (or restore one back on sale) after commit, exactly as for an
+ * admin status change, without reading the event again.
+ */
+@Component
+@RequiredArgsConstructor
+public class SoldOutTransitions {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * {@code taken} is the net number of tickets the update took (negative when it returned them).
+     * When tickets were returned past the total the earlier count is underestimated, which at worst
+     * publishes a change that did not happen; listeners treat that as a harmless refresh.
+     */
+    public void publishIfChanged(EventSummaryResponse current, int taken) {
+        int previousAvailable = current.getAvailableTickets() + taken;
+        if (current.getStatus() == EventStatus.SOLD_OUT && previousAvailable > 0) {
+            publish(current, EventStatus.PUBLISHED, previousAvailable);
+        } else if (current.getStatus() == EventStatus.PUBLISHED && previousAvailable <= 0) {
+            publish(current, EventStatus.SOLD_OUT, 0);
+        }
+    }
+
+    private void publish(EventSummaryResponse current, EventStatus previousStatus, int previousAvailable) {
+        EventSummaryResponse previous = EventSummaryResponse.builder()
+                .id(current.getId())
+                .name(current.getName())
+                .artistName(current.getArtistName())
+                .eventDateTime(current.getEventDateTime())
+                .price(current.getPrice())
+                .availableTickets(previousAvailable)
+                .imageUrl(current.getImageUrl())
+                .status(previousStatus)
+                .category(current.getCategory())
+                .venueName(current.getVenueName())
+                .venueCity(current.getVenueCity())
+                .build();
+        eventPublisher.publishEvent(new EventChangedEvent(current.getId(), previous, current));
+    }
+}
@@ -0,0 +1,85 @@
+package com.tickethub.inventory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A non-negative ticket count split across stripes so concurrent buyers of the same event CAS
+ * different cache lines. A taker tries its home stripe, then the others; only when no single stripe
+ * can cover the request are all stripes drained under a lock and the remainder spread back out.
+ * Every decrement is a CAS against a stripe holding enough, so the total never goes negative.
+ */
+class StripedCounter {
+
+    // Eight longs per cell keeps neighbouring stripes on separate 64-byte cache lines
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray cells;
+    private final int stripes;
+    private final ReentrantLock rebalanceLock = new ReentrantLock();
+
+    StripedCounter(long initial, int stripes) {
+        this.stripes = stripes;
+        this.cells = new AtomicLongArray(stripes * PADDING);
+        spread(initial);
+    }
+
+    boolean tryTake(int quantity) {
+        int home = (int) (Thread.currentThread().threadId() % stripes);
+        for (int i = 0; i < stripes; i++) {
+            if (takeFrom((home + i) % stripes, quantity)) {
+                return true;
+            }
+        }
+        return takeRebalanced(quantity);
+    }
+
+    void add(long quantity) {
+        int home = (int) (Thread.currentThread().threadId() % stripes);
+        cells.addAndGet(home * PADDING, quantity);
+    }
+
+    long sum() {
+        long total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += cells.get(i * PADDING);
+        }
+        return total;
+    }
+
+    private boolean takeFrom(int stripe, int quantity) {
+        int index = stripe * PADDING;
+        long current;
+        do {
+            current = cells.get(index);
+            if (current < quantity) {
+                return false;
+            }
+        } while (!cells.compareAndSet(index, current, current - quantity));
+        return true;
+    }
+
+    // Only the lock holder moves tickets out of the cells, so the drained total is exact
+    private boolean takeRebalanced(int quantity) {
+        rebalanceLock.lock();
+        try {
+            long total = 0;
+            for (int i = 0; i < stripes; i++) {
+                total += cells.getAndSet(i * PADDING, 0);
+            }
+            boolean granted = total >= quantity;
+            spread(granted ? total - quantity : total);
+            return granted;
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    private void spread(long total) {
+        long share = total / stripes;
+        long extra = total % stripes;
+        for (int i = 0; i < stripes; i++) {
+            cells.addAndGet(i * PADDING, share + (i < extra ? 1 : 0));
+        }
+    }
+}
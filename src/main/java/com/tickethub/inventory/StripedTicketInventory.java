@@ -0,0 +1,241 @@
+package com.tickethub.inventory;
+
+import com.tickethub.repository.EventInventoryView;
+import com.tickethub.repository.EventRepository;
+import com.tickethub.repository.EventRepositoryCustom.AppliedDecrement;
+import com.tickethub.services.EventChangedEvent;
+import com.tickethub.services.TicketInventoryChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Grants tickets from per-event {@link StripedCounter}s with no database round trip, and writes the
+ * granted quantities to {@code events.available_tickets} in one batched transaction every flush interval.
+ * <p>
+ * Only one instance may run this strategy: each instance grants from its own counters, so N of them
+ * can sell the same tickets N times. It refuses to start unless
+ * {@code tickethub.inventory.striped.single-instance} says the deployment is a single instance.
+ * <p>
+ * Counters are loaded from the database at startup and on first use, minus anything granted but not
+ * yet flushed. Grants are not persisted until they flush: pending decrements are flushed on shutdown,
+ * but the ones pending when the process dies are lost and those tickets can be sold again. A flush
+ * always applies what was granted; when a row has fewer tickets left (after a crash, or a write from
+ * elsewhere) it is clamped at zero, the shortfall is counted on {@code tickethub.inventory.oversold}
+ * and the counter is reloaded from the row.
+ */
+@Component
+@ConditionalOnProperty(name = "tickethub.inventory.strategy", havingValue = "striped")
+@Slf4j
+public class StripedTicketInventory implements TicketInventory {
+
+    private final EventRepository eventRepository;
+    private final SoldOutTransitions soldOutTransitions;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int stripes;
+    private final Counter oversold;
+
+    private final Map<Long, StripedCounter> counters = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> unflushed = new ConcurrentHashMap<>();
+    // Loads and flushes exclude each other so a load never misses decrements in flight to the database
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public StripedTicketInventory(EventRepository eventRepository,
+                                  SoldOutTransitions soldOutTransitions,
+                                  TransactionTemplate transactionTemplate,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${tickethub.inventory.stripes:0}") int stripes,
+                                  @Value("${tickethub.inventory.striped.single-instance:false}") boolean singleInstance) {
+        if (!singleInstance) {
+            throw new IllegalStateException("The striped ticket inventory only works on a single instance;"
+                    + " set tickethub.inventory.striped.single-instance=true to confirm the deployment is one");
+        }
+        this.eventRepository = eventRepository;
+        this.soldOutTransitions = soldOutTransitions;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.stripes = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+        this.oversold = Counter.builder("tickethub.inventory.oversold")
+                .description("Tickets granted from memory that the event row no longer had when flushed")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPublishedEvents() {
+        flushLock.lock();
+        try {
+            for (EventInventoryView event : eventRepository.findInventoryByStatusIn(ON_SALE)) {
+                counters.put(event.getId(), newCounter(event));
+            }
+            log.info("Loaded striped ticket inventory for {} events on sale", counters.size());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public OptionalInt reserve(Long eventId, int quantity) {
+        StripedCounter counter = counter(eventId);
+        if (counter == null || !counter.tryTake(quantity)) {
+            return OptionalInt.empty();
+        }
+        unflushed.computeIfAbsent(eventId, id -> new AtomicLong()).addAndGet(quantity);
+        releaseOnRollback(eventId, quantity);
+        return OptionalInt.of((int) counter.sum());
+    }
+
+    // The grant lives outside the database, so a caller rolling back (a hold or seat insert that
+    // failed) would otherwise keep the tickets taken and flush the decrement anyway
+    private void releaseOnRollback(Long eventId, int quantity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release(eventId, quantity);
+                }
+            }
+        });
+    }
+
+    // Recorded as a negative pending decrement, so the next flush adds the tickets back to the row
+    @Override
+    public OptionalInt release(Long eventId, int quantity) {
+        unflushed.computeIfAbsent(eventId, id -> new AtomicLong()).addAndGet(-quantity);
+        StripedCounter counter = counters.get(eventId);
+        if (counter == null) {
+            return OptionalInt.empty();
+        }
+        counter.add(quantity);
+        return OptionalInt.of((int) counter.sum());
+    }
+
+    @Override
+    public OptionalInt available(Long eventId) {
+        StripedCounter counter = counter(eventId);
+        return counter == null ? OptionalInt.empty() : OptionalInt.of((int) counter.sum());
+    }
+
+    @Scheduled(fixedDelayString = "${tickethub.inventory.flush-interval-ms:200}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<Long, Integer> decrements = new HashMap<>();
+            unflushed.forEach((eventId, pending) -> {
+                long quantity = pending.getAndSet(0);
+                if (quantity != 0) {
+                    decrements.put(eventId, (int) quantity);
+                }
+            });
+            if (decrements.isEmpty()) {
+                return;
+            }
+
+            try {
+                List<AppliedDecrement> applied = transactionTemplate.execute(status -> {
+                    List<AppliedDecrement> rows = eventRepository.applyTicketDecrements(decrements, LocalDateTime.now());
+                    for (AppliedDecrement row : rows) {
+                        int taken = decrements.get(row.event().getId()) - row.shortfall();
+                        soldOutTransitions.publishIfChanged(row.event(), taken);
+                    }
+                    return rows;
+                });
+                Set<Long> missing = new HashSet<>(decrements.keySet());
+                for (AppliedDecrement row : applied) {
+                    Long eventId = row.event().getId();
+                    missing.remove(eventId);
+                    if (row.shortfall() > 0) {
+                        oversold.increment(row.shortfall());
+                        log.error("Event {} was oversold by {} of the {} tickets granted in memory; reloading its counter",
+                                eventId, row.shortfall(), decrements.get(eventId));
+                        counters.remove(eventId);
+                        eventPublisher.publishEvent(new TicketInventoryChangedEvent(eventId, row.event().getAvailableTickets()));
+                    } else {
+                        publishAvailability(eventId);
+                    }
+                }
+                for (Long eventId : missing) {
+                    log.warn("Event {} no longer exists; dropped its pending decrement of {}", eventId, decrements.get(eventId));
+                    counters.remove(eventId);
+                }
+            } catch (RuntimeException e) {
+                // Put the batch back so the next flush retries it
+                decrements.forEach((eventId, quantity) ->
+                        unflushed.computeIfAbsent(eventId, id -> new AtomicLong()).addAndGet(quantity));
+                log.error("Ticket inventory flush of {} events failed, will retry", decrements.size(), e);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // Cancelled, deleted or re-drafted events stop selling; their pending decrements still flush.
+    // Sold-out events keep their (empty) counter so released holds can put them back on sale.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.getCurrent() == null || !ON_SALE.contains(change.getCurrent().getStatus())) {
+            counters.remove(change.getEventId());
+        }
+    }
+
+    private StripedCounter counter(Long eventId) {
+        StripedCounter counter = counters.get(eventId);
+        if (counter != null) {
+            return counter;
+        }
+        flushLock.lock();
+        try {
+            return counters.computeIfAbsent(eventId, id -> eventRepository
+                    .findInventoryByIdAndStatusIn(id, ON_SALE)
+                    .map(this::newCounter)
+                    .orElse(null));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private StripedCounter newCounter(EventInventoryView event) {
+        AtomicLong pending = unflushed.get(event.getId());
+        long available = event.getAvailableTickets() - (pending == null ? 0 : pending.get());
+        return new StripedCounter(Math.max(available, 0), stripes);
+    }
+
+    private void publishAvailability(Long eventId) {
+        StripedCounter counter = counters.get(eventId);
+        if (counter != null) {
+            eventPublisher.publishEvent(new TicketInventoryChangedEvent(eventId, (int) counter.sum()));
+        }
+    }
+}
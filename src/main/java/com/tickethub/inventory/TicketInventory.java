@@ -0,0 +1,53 @@
+package com.tickethub.inventory;
+
+import com.tickethub.enums.EventStatus;
+import com.tickethub.exception.InsufficientTicketsException;
+import com.tickethub.exception.ResourceNotFoundException;
+
+import java.util.OptionalInt;
+import java.util.Set;
+
+/**
+ * Grants tickets for published events. The implementation is chosen with
+ * {@code tickethub.inventory.strategy}: {@code database} (default) decrements the events row on
+ * every booking, {@code striped} grants from in-memory counters and writes the decrements behind.
+ */
+public interface TicketInventory {
+
+    /** Statuses whose tickets an inventory tracks; an event moves between them as it sells out. */
+    Set<EventStatus> ON_SALE = Set.of(EventStatus.PUBLISHED, EventStatus.SOLD_OUT);
+
+    /**
+     * Takes {@code quantity} tickets, never more than are available. Returns the tickets left, or
+     * empty when the event is not on sale or has too few tickets.
+     */
+    OptionalInt reserve(Long eventId, int quantity);
+
+    /**
+     * Returns previously reserved tickets to the event. Returns the tickets now available, or empty
+     * when this inventory does not track the event.
+     */
+    OptionalInt release(Long eventId, int quantity);
+
+    /**
+     * Tickets currently available as this inventory sees them, or empty when the event is not on sale.
+     */
+    OptionalInt available(Long eventId);
+
+    /**
+     * {@link #reserve} that explains a refusal: {@link ResourceNotFoundException} when the event is
+     * not on sale, {@link InsufficientTicketsException} when too few tickets are left.
+     */
+    default int reserveOrThrow(Long eventId, int quantity) {
+        OptionalInt remaining = reserve(eventId, quantity);
+        if (remaining.isPresent()) {
+            return remaining.getAsInt();
+        }
+        // Only reached when the reservation failed, so the extra lookup is off the hot path
+        OptionalInt available = available(eventId);
+        if (available.isEmpty()) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
+        throw new InsufficientTicketsException("Only " + available.getAsInt() + " tickets left for event " + eventId);
+    }
+}
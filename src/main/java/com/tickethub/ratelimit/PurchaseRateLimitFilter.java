@@ -0,0 +1,162 @@
+package com.tickethub.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickethub.exception.GlobalExceptionHandler.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles purchase requests (bookings, holds, seat reservations) with a {@link TokenBucket} per
+ * user and one per event, checked in that order so a single client flooding an event spends its own
+ * tokens before it can touch the event's. Rejections are a 429 with {@code Retry-After} set to when
+ * the exhausted bucket will have a token again.
+ * <p>
+ * Buckets sit in {@link ConcurrentHashMap}s, which lock only a single bin on first insert; after that
+ * a request is a lock-free map read plus a CAS on the bucket. Buckets that have refilled to capacity
+ * carry no state a new bucket would not, so a periodic sweep drops them to keep idle users and
+ * finished sales from accumulating.
+ */
+@Component
+@Slf4j
+public class PurchaseRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String EVENT_ID = "eventId";
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final List<String> paths;
+    private final long userCapacity;
+    private final double userPerSecond;
+    private final long eventCapacity;
+    private final double eventPerSecond;
+    private final Counter userRejections;
+    private final Counter eventRejections;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, TokenBucket> userBuckets = new ConcurrentHashMap<>();
+    private final Map<Long, TokenBucket> eventBuckets = new ConcurrentHashMap<>();
+
+    public PurchaseRateLimitFilter(ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${tickethub.rate-limit.enabled:true}") boolean enabled,
+                                   @Value("${tickethub.rate-limit.paths:/api/events/{eventId}/bookings,/api/events/{eventId}/holds,/api/events/{eventId}/seats}") List<String> paths,
+                                   @Value("${tickethub.rate-limit.user.capacity:10}") long userCapacity,
+                                   @Value("${tickethub.rate-limit.user.per-second:2}") double userPerSecond,
+                                   @Value("${tickethub.rate-limit.event.capacity:500}") long eventCapacity,
+                                   @Value("${tickethub.rate-limit.event.per-second:250}") double eventPerSecond) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.paths = paths;
+        this.userCapacity = userCapacity;
+        this.userPerSecond = userPerSecond;
+        this.eventCapacity = eventCapacity;
+        this.eventPerSecond = eventPerSecond;
+        this.userRejections = rejections(meterRegistry, "user");
+        this.eventRejections = rejections(meterRegistry, "event");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !HttpMethod.POST.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Long eventId = purchasedEventId(request);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // Anonymous purchases are rejected by authorization further down the chain
+        if (eventId == null || authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        TokenBucket userBucket = userBuckets.computeIfAbsent(authentication.getName(),
+                user -> new TokenBucket(userCapacity, userPerSecond));
+        if (!userBucket.tryAcquire()) {
+            userRejections.increment();
+            reject(response, userBucket, "Too many purchase requests, please slow down");
+            return;
+        }
+        TokenBucket eventBucket = eventBuckets.computeIfAbsent(eventId,
+                id -> new TokenBucket(eventCapacity, eventPerSecond));
+        if (!eventBucket.tryAcquire()) {
+            eventRejections.increment();
+            reject(response, eventBucket, "This event is receiving too many purchase requests, please retry shortly");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // A bucket taken just before it is swept still works; the next request starts a fresh, full one
+    @Scheduled(fixedDelayString = "${tickethub.rate-limit.idle-sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        int users = userBuckets.size();
+        int events = eventBuckets.size();
+        userBuckets.values().removeIf(TokenBucket::isFull);
+        eventBuckets.values().removeIf(TokenBucket::isFull);
+        log.debug("Evicted {} idle user and {} idle event rate limit buckets",
+                users - userBuckets.size(), events - eventBuckets.size());
+    }
+
+    private Long purchasedEventId(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : paths) {
+            if (pathMatcher.match(pattern, path)) {
+                try {
+                    return Long.valueOf(pathMatcher.extractUriTemplateVariables(pattern, path).get(EVENT_ID));
+                } catch (NumberFormatException e) {
+                    // Not a valid event id; the controller answers with 400
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, TokenBucket bucket, String message) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilAvailable(1) + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(), message, LocalDateTime.now()));
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("tickethub.rate-limit.rejections")
+                .description("Purchase requests rejected by the rate limiter")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,80 @@
+package com.tickethub.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket: refills continuously at a fixed rate up to {@code capacity}. Every
+ * acquisition is one CAS on an immutable state, refilling lazily from the elapsed time, so no timer
+ * thread is needed and contended callers never block.
+ */
+public class TokenBucket {
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    public TokenBucket(long capacity, double tokensPerSecond) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.state = new AtomicReference<>(new State(capacity, System.nanoTime()));
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    public boolean tryAcquire(long permits) {
+        return acquire(permits, true) == permits;
+    }
+
+    /**
+     * Takes as many tokens as are available, at most {@code maxPermits}, and returns how many were taken.
+     */
+    public long acquireUpTo(long maxPermits) {
+        return acquire(maxPermits, false);
+    }
+
+    /**
+     * Nanoseconds until {@code permits} tokens will have accumulated, or 0 if they are available now.
+     */
+    public long nanosUntilAvailable(long permits) {
+        double missing = permits - tokensAt(state.get(), System.nanoTime());
+        return missing <= 0 ? 0 : (long) Math.ceil(missing / tokensPerNano);
+    }
+
+    /**
+     * True once the bucket has refilled to capacity. A full bucket behaves exactly like a new one,
+     * so callers keeping buckets per key can drop it without changing anyone's limit.
+     */
+    public boolean isFull() {
+        return tokensAt(state.get(), System.nanoTime()) >= capacity;
+    }
+
+    public double tokensPerSecond() {
+        return tokensPerNano * 1_000_000_000d;
+    }
+
+    private long acquire(long permits, boolean allOrNothing) {
+        while (true) {
+            long now = System.nanoTime();
+            State current = state.get();
+            double tokens = tokensAt(current, now);
+            long granted = Math.min(permits, (long) tokens);
+            if (granted == 0 || (allOrNothing && granted < permits)) {
+                return 0;
+            }
+            if (state.compareAndSet(current, new State(tokens - granted, now))) {
+                return granted;
+            }
+        }
+    }
+
+    private double tokensAt(State current, long now) {
+        // nanoTime read on another thread may be slightly ahead of ours
+        long elapsed = Math.max(0, now - current.refilledAt);
+        return Math.min(capacity, current.tokens + elapsed * tokensPerNano);
+    }
+
+    private record State(double tokens, long refilledAt) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.tickethub.repository;
+
+import com.tickethub.search.EventSearchCriteria;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Native SQL rendering of {@link EventSearchCriteria} for queries the criteria API cannot express
+ * (grouping sets, planner estimates). Expects {@code events e JOIN venues v} in the FROM clause and
+ * keeps the same predicates as EventSpecification so results agree with the listing.
+ */
+class EventFilterSql {
+
+    static final String FROM = " FROM events e JOIN venues v ON v.id = e.venue_id";
+
+    private final StringBuilder where = new StringBuilder(" WHERE e.status = 'PUBLISHED'");
+    private final Map<String, Object> parameters = new HashMap<>();
+
+    EventFilterSql(EventSearchCriteria criteria) {
+        if (criteria.getSearchQuery() != null) {
+            where.append(" AND (lower(e.name) LIKE :q OR lower(e.artist_name) LIKE :q)");
+            parameters.put("q", "%" + criteria.getSearchQuery() + "%");
+        }
+        if (criteria.getCategory() != null) {
+            where.append(" AND e.category = :category");
+            parameters.put("category", criteria.getCategory().name());
+        }
+        if (criteria.getCityVenueIds() != null) {
+            if (criteria.getCityVenueIds().isEmpty()) {
+                where.append(" AND FALSE");
+            } else {
+                where.append(" AND e.venue_id IN (:cityVenueIds)");
+                parameters.put("cityVenueIds", criteria.getCityVenueIds());
+            }
+        } else if (criteria.getCity() != null) {
+            where.append(" AND lower(v.city) LIKE :city");
+            parameters.put("city", "%" + criteria.getCity() + "%");
+        }
+        if (criteria.getStartDate() != null) {
+            where.append(" AND e.event_date_time >= :startDate");
+            parameters.put("startDate", criteria.getStartDate());
+        }
+        if (criteria.getEndDate() != null) {
+            where.append(" AND e.event_date_time <= :endDate");
+            parameters.put("endDate", criteria.getEndDate());
+        }
+        if (criteria.getMinPrice() != null) {
+            where.append(" AND e.price >= :minPrice");
+            parameters.put("minPrice", criteria.getMinPrice());
+        }
+        if (criteria.getMaxPrice() != null) {
+            where.append(" AND e.price <= :maxPrice");
+            parameters.put("maxPrice", criteria.getMaxPrice());
+        }
+    }
+
+    String where() {
+        return where.toString();
+    }
+
+    Map<String, Object> parameters() {
+        return parameters;
+    }
+}
@@ -0,0 +1,6 @@
+package com.tickethub.repository;
+
+public interface EventInventoryView {
+    Long getId();
+    Integer getAvailableTickets();
+}
@@ -3,20 +3,37 @@ package com.tickethub.repository;
 import com.tickethub.entity.Event;
 import com.tickethub.enums.EventCategory;
 import com.tickethub.enums.EventStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>, EventRepositoryCustom {
     List<Event> findByStatus(EventStatus status);
     Page<Event> findByStatus(EventStatus status, Pageable pageable);
     List<Event> findByCategory(EventCategory category);
     List<Event> findByVenueId(Long venueId);
     List<Event> findByCreatedBy_Id(Long userId);
+
+    // Detail view needs both associations; fetch them with the event instead of two lazy loads
+    @EntityGraph(attributePaths = {"venue", "createdBy"})
+    Optional<Event> findWithVenueAndCreatorById(Long id);
+
+    // SELECT ... FOR UPDATE, for the pessimistic mutation strategy
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Event> findLockedById(Long id);
+
+    // Inventory loads only need the counter, not the entity
+    List<EventInventoryView> findInventoryByStatusIn(Collection<EventStatus> statuses);
+    Optional<EventInventoryView> findInventoryByIdAndStatusIn(Long id, Collection<EventStatus> statuses);
 }
 
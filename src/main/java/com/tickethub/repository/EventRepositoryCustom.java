@@ -0,0 +1,102 @@
+package com.tickethub.repository;
+
+import com.tickethub.dto.eventDto.EventFacetsResponse;
+import com.tickethub.dto.eventDto.EventSummaryResponse;
+import com.tickethub.entity.Event;
+import com.tickethub.search.EventSearchCriteria;
+import com.tickethub.search.PriceBuckets;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+public interface EventRepositoryCustom {
+
+    /**
+     * Selects only the listing columns, joining the venue in the same statement,
+     * so a page never triggers per-row lazy loads.
+     */
+    Page<EventSummaryResponse> findSummaries(Specification<Event> spec, Pageable pageable);
+
+    /**
+     * Same projection as {@link #findSummaries} without the COUNT: one extra row is fetched
+     * to tell whether a next page exists.
+     */
+    Slice<EventSummaryResponse> findSummarySlice(Specification<Event> spec, Pageable pageable);
+
+    /**
+     * Same projection as {@link #findSummaries}, ordered by full-text relevance to the query
+     * (then date and id for stable paging).
+     */
+    Page<EventSummaryResponse> findRankedSummaries(Specification<Event> spec, String searchQuery, Pageable pageable);
+
+    /**
+     * Returns at most {@code limit} summaries matching the specification in the given order,
+     * without the COUNT query that a {@code Page} lookup issues.
+     */
+    List<EventSummaryResponse> findSummaryWindow(Specification<Event> spec, Sort sort, int limit);
+
+    /**
+     * Counts published events matching the criteria per category, venue city and price bucket,
+     * plus the overall total, in one GROUPING SETS pass over the filtered rows.
+     */
+    EventFacetsResponse countFacets(EventSearchCriteria criteria, PriceBuckets priceBuckets);
+
+    /**
+     * Row estimate for the criteria taken from the query planner's statistics, which costs
+     * a plan rather than a COUNT over the filtered set.
+     */
+    long estimateCount(EventSearchCriteria criteria);
+
+    /**
+     * Takes {@code quantity} tickets from a published event in a single conditional UPDATE, so
+     * concurrent buyers can never drive availability below zero and no row lock outlives the statement.
+     * The same statement moves the event to SOLD_OUT when it takes the last tickets. Returns the
+     * updated listing row, or empty when the event is not published or has too few available.
+     * Like every inventory update here it leaves {@code version} alone, so a sale never fails an admin
+     * edit in flight; {@link Event} only writes the columns it changed, so that edit cannot put back a
+     * stale count either.
+     */
+    Optional<EventSummaryResponse> reserveTickets(Long eventId, int quantity, LocalDateTime updatedAt);
+
+    /**
+     * Adds tickets back to an event, capped at its total, putting a SOLD_OUT event back on sale.
+     * Returns the updated listing row, or empty when the event does not exist.
+     */
+    Optional<EventSummaryResponse> releaseTickets(Long eventId, int quantity, LocalDateTime updatedAt);
+
+    /**
+     * An event row after {@link #applyTicketDecrements}, with how many of the granted tickets the row
+     * did not have.
+     */
+    record AppliedDecrement(EventSummaryResponse event, int shortfall) {
+    }
+
+    /**
+     * Subtracts already-granted tickets from each event in one statement, moving events between
+     * PUBLISHED and SOLD_OUT as availability reaches or leaves zero. The tickets were already handed
+     * out, so the decrement always applies: a row with fewer left is clamped at zero and the
+     * difference is reported as its shortfall. A negative quantity adds released tickets back, capped
+     * at the total. Events that no longer exist are missing from the result.
+     */
+    List<AppliedDecrement> applyTicketDecrements(Map<Long, Integer> decrements, LocalDateTime updatedAt);
+
+    /**
+     * Reads a published event's availability and locks its row until the surrounding transaction
+     * ends. Empty when the event is not published.
+     */
+    OptionalInt lockAvailableTickets(Long eventId);
+
+    /**
+     * Overwrites availability, with the same SOLD_OUT transitions as {@link #applyTicketDecrements};
+     * only safe while holding the row lock from {@link #lockAvailableTickets}.
+     */
+    Optional<EventSummaryResponse> setAvailableTickets(Long eventId, int availableTickets, LocalDateTime updatedAt);
+}
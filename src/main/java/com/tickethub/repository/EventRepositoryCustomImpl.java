@@ -0,0 +1,317 @@
+package com.tickethub.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickethub.config.PostgresSearchFunctionContributor;
+import com.tickethub.dto.eventDto.EventFacetsResponse;
+import com.tickethub.dto.eventDto.EventSummaryResponse;
+import com.tickethub.entity.Event;
+import com.tickethub.entity.Venue;
+import com.tickethub.enums.EventCategory;
+import com.tickethub.enums.EventStatus;
+import com.tickethub.search.EventSearchCriteria;
+import com.tickethub.search.PriceBuckets;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+
+public class EventRepositoryCustomImpl implements EventRepositoryCustom {
+
+    private static final ObjectMapper PLAN_READER = new ObjectMapper();
+
+    // Listing row of an updated event, returned by the inventory UPDATEs so no follow-up read is needed
+    private static final String SUMMARY_COLUMNS = "e.id, e.name, e.artist_name, e.event_date_time, e.price,"
+            + " e.available_tickets, e.image_url, e.status, e.category, v.name AS venue_name, v.city AS venue_city";
+
+    private static final RowMapper<EventSummaryResponse> SUMMARY_ROW = (row, rowNum) -> new EventSummaryResponse(
+            row.getLong("id"),
+            row.getString("name"),
+            row.getString("artist_name"),
+            row.getObject("event_date_time", LocalDateTime.class),
+            row.getBigDecimal("price"),
+            row.getInt("available_tickets"),
+            row.getString("image_url"),
+            EventStatus.valueOf(row.getString("status")),
+            EventCategory.valueOf(row.getString("category")),
+            row.getString("venue_name"),
+            row.getString("venue_city"));
+
+    private final EntityManager entityManager;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public EventRepositoryCustomImpl(EntityManager entityManager, NamedParameterJdbcTemplate jdbcTemplate) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Page<EventSummaryResponse> findSummaries(Specification<Event> spec, Pageable pageable) {
+        Sort sort = pageable.getSort();
+        return page(summaryQuery(spec, (root, criteriaBuilder) -> QueryUtils.toOrders(sort, root, criteriaBuilder)),
+                spec, pageable);
+    }
+
+    @Override
+    public Slice<EventSummaryResponse> findSummarySlice(Specification<Event> spec, Pageable pageable) {
+        Sort sort = pageable.getSort();
+        TypedQuery<EventSummaryResponse> query =
+                summaryQuery(spec, (root, criteriaBuilder) -> QueryUtils.toOrders(sort, root, criteriaBuilder));
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList(), pageable, false);
+        }
+
+        List<EventSummaryResponse> rows = query
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public Page<EventSummaryResponse> findRankedSummaries(Specification<Event> spec, String searchQuery,
+                                                         Pageable pageable) {
+        return page(summaryQuery(spec, (root, criteriaBuilder) -> List.of(
+                        criteriaBuilder.desc(criteriaBuilder.function(PostgresSearchFunctionContributor.RANK,
+                                Double.class, root.get("searchVector"), criteriaBuilder.literal(searchQuery))),
+                        criteriaBuilder.asc(root.get("eventDateTime")),
+                        criteriaBuilder.asc(root.get("id")))),
+                spec, pageable);
+    }
+
+    @Override
+    public List<EventSummaryResponse> findSummaryWindow(Specification<Event> spec, Sort sort, int limit) {
+        return summaryQuery(spec, (root, criteriaBuilder) -> QueryUtils.toOrders(sort, root, criteriaBuilder))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public EventFacetsResponse countFacets(EventSearchCriteria criteria, PriceBuckets priceBuckets) {
+        EventFilterSql filter = new EventFilterSql(criteria);
+
+        StringBuilder bucket = new StringBuilder("CASE");
+        List<BigDecimal> boundaries = priceBuckets.getBoundaries();
+        for (int i = 0; i < boundaries.size(); i++) {
+            bucket.append(" WHEN e.price < :boundary").append(i).append(" THEN ").append(i);
+        }
+        bucket.append(" ELSE ").append(boundaries.size()).append(" END");
+
+        // GROUPING(category, city, bucket) is a bitmask of the columns rolled up in each row
+        String sql = "SELECT category, city, bucket, GROUPING(category, city, bucket), COUNT(*)"
+                + " FROM (SELECT e.category AS category, v.city AS city, " + bucket + " AS bucket"
+                + EventFilterSql.FROM + filter.where() + ") filtered"
+                + " GROUP BY GROUPING SETS ((category), (city), (bucket), ())";
+
+        Query query = entityManager.createNativeQuery(sql);
+        filter.parameters().forEach(query::setParameter);
+        for (int i = 0; i < boundaries.size(); i++) {
+            query.setParameter("boundary" + i, boundaries.get(i));
+        }
+
+        long total = 0;
+        Map<EventCategory, Long> categories = new EnumMap<>(EventCategory.class);
+        Map<String, Long> cities = new TreeMap<>();
+        long[] buckets = new long[priceBuckets.size()];
+
+        for (Object row : query.getResultList()) {
+            Object[] columns = (Object[]) row;
+            long count = ((Number) columns[4]).longValue();
+            switch (((Number) columns[3]).intValue()) {
+                case 0b011 -> categories.put(EventCategory.valueOf((String) columns[0]), count);
+                case 0b101 -> cities.put((String) columns[1], count);
+                case 0b110 -> buckets[((Number) columns[2]).intValue()] = count;
+                case 0b111 -> total = count;
+                default -> throw new IllegalStateException("Unexpected grouping set in facet query");
+            }
+        }
+
+        return EventFacetsResponse.builder()
+                .total(total)
+                .categories(categories)
+                .cities(cities)
+                .priceBuckets(priceBuckets.toFacets(buckets))
+                .build();
+    }
+
+    @Override
+    public long estimateCount(EventSearchCriteria criteria) {
+        EventFilterSql filter = new EventFilterSql(criteria);
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN (FORMAT JSON) SELECT 1" + EventFilterSql.FROM + filter.where(),
+                filter.parameters(), String.class);
+        try {
+            return PLAN_READER.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read query plan estimate", e);
+        }
+    }
+
+    @Override
+    public Optional<EventSummaryResponse> reserveTickets(Long eventId, int quantity, LocalDateTime updatedAt) {
+        return single(jdbcTemplate.query(
+                "UPDATE events e SET available_tickets = e.available_tickets - :quantity,"
+                        + " status = CASE WHEN e.available_tickets = :quantity THEN 'SOLD_OUT' ELSE e.status END,"
+                        + " updated_at = :updatedAt"
+                        + " FROM venues v WHERE e.id = :id AND v.id = e.venue_id"
+                        + " AND e.status = 'PUBLISHED' AND e.available_tickets >= :quantity"
+                        + " RETURNING " + SUMMARY_COLUMNS,
+                Map.of("id", eventId, "quantity", quantity, "updatedAt", updatedAt), SUMMARY_ROW));
+    }
+
+    @Override
+    public Optional<EventSummaryResponse> releaseTickets(Long eventId, int quantity, LocalDateTime updatedAt) {
+        return single(jdbcTemplate.query(
+                "UPDATE events e SET available_tickets = LEAST(e.available_tickets + :quantity, e.total_tickets),"
+                        + " status = CASE WHEN e.status = 'SOLD_OUT' AND :quantity > 0 THEN 'PUBLISHED' ELSE e.status END,"
+                        + " updated_at = :updatedAt"
+                        + " FROM venues v WHERE e.id = :id AND v.id = e.venue_id"
+                        + " RETURNING " + SUMMARY_COLUMNS,
+                Map.of("id", eventId, "quantity", quantity, "updatedAt", updatedAt), SUMMARY_ROW));
+    }
+
+    @Override
+    public OptionalInt lockAvailableTickets(Long eventId) {
+        List<Integer> available = jdbcTemplate.queryForList(
+                "SELECT available_tickets FROM events WHERE id = :id AND status = 'PUBLISHED' FOR UPDATE",
+                Map.of("id", eventId), Integer.class);
+        return available.isEmpty() ? OptionalInt.empty() : OptionalInt.of(available.get(0));
+    }
+
+    @Override
+    public Optional<EventSummaryResponse> setAvailableTickets(Long eventId, int availableTickets, LocalDateTime updatedAt) {
+        return single(jdbcTemplate.query(
+                "UPDATE events e SET available_tickets = :available, status = " + soldOutTransition(":available")
+                        + ", updated_at = :updatedAt"
+                        + " FROM venues v WHERE e.id = :id AND v.id = e.venue_id"
+                        + " RETURNING " + SUMMARY_COLUMNS,
+                Map.of("id", eventId, "available", availableTickets, "updatedAt", updatedAt), SUMMARY_ROW));
+    }
+
+    @Override
+    public List<AppliedDecrement> applyTicketDecrements(Map<Long, Integer> decrements, LocalDateTime updatedAt) {
+        if (decrements.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder values = new StringBuilder();
+        MapSqlParameterSource params = new MapSqlParameterSource("updatedAt", updatedAt);
+        int i = 0;
+        for (Map.Entry<Long, Integer> decrement : decrements.entrySet()) {
+            values.append(i == 0 ? "" : ", ")
+                    .append("(CAST(:id").append(i).append(" AS BIGINT), CAST(:quantity").append(i).append(" AS INTEGER))");
+            params.addValue("id" + i, decrement.getKey()).addValue("quantity" + i, decrement.getValue());
+            i++;
+        }
+        // The locked CTE reads each row's count before the update, which RETURNING alone cannot see
+        String available = "LEAST(GREATEST(b.available_tickets - d.quantity, 0), e.total_tickets)";
+        return jdbcTemplate.query(
+                "WITH d (id, quantity) AS (VALUES " + values + "),"
+                        + " b AS (SELECT e.id, e.available_tickets FROM events e JOIN d ON d.id = e.id FOR UPDATE OF e)"
+                        + " UPDATE events e SET available_tickets = " + available + ","
+                        + " status = " + soldOutTransition(available) + ","
+                        + " updated_at = :updatedAt"
+                        + " FROM d, b, venues v"
+                        + " WHERE e.id = d.id AND b.id = e.id AND v.id = e.venue_id"
+                        + " RETURNING " + SUMMARY_COLUMNS + ", GREATEST(d.quantity - b.available_tickets, 0) AS shortfall",
+                params,
+                (row, rowNum) -> new AppliedDecrement(SUMMARY_ROW.mapRow(row, rowNum), row.getInt("shortfall")));
+    }
+
+    // PUBLISHED <-> SOLD_OUT as availability reaches or leaves zero; any other status is left alone
+    private static String soldOutTransition(String newAvailable) {
+        return "CASE WHEN e.status = 'PUBLISHED' AND " + newAvailable + " = 0 THEN 'SOLD_OUT'"
+                + " WHEN e.status = 'SOLD_OUT' AND " + newAvailable + " > 0 THEN 'PUBLISHED'"
+                + " ELSE e.status END";
+    }
+
+    private static Optional<EventSummaryResponse> single(List<EventSummaryResponse> rows) {
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    private Page<EventSummaryResponse> page(TypedQuery<EventSummaryResponse> query,
+                                            Specification<Event> spec, Pageable pageable) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<EventSummaryResponse> content = query.getResultList();
+
+        // Skips the COUNT when the page itself proves the total (first page short, or last page)
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    private TypedQuery<EventSummaryResponse> summaryQuery(
+            Specification<Event> spec, BiFunction<Root<Event>, CriteriaBuilder, List<Order>> ordering) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventSummaryResponse> query = criteriaBuilder.createQuery(EventSummaryResponse.class);
+        Root<Event> root = query.from(Event.class);
+        Join<Event, Venue> venue = root.join("venue", JoinType.INNER);
+
+        query.select(criteriaBuilder.construct(EventSummaryResponse.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("artistName"),
+                root.get("eventDateTime"),
+                root.get("price"),
+                root.get("availableTickets"),
+                root.get("imageUrl"),
+                root.get("status"),
+                root.get("category"),
+                venue.get("name"),
+                venue.get("city")));
+
+        applySpecification(spec, root, query, criteriaBuilder);
+        query.orderBy(ordering.apply(root, criteriaBuilder));
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Event> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Event> root = query.from(Event.class);
+
+        applySpecification(spec, root, query, criteriaBuilder);
+        query.select(criteriaBuilder.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private void applySpecification(Specification<Event> spec, Root<Event> root,
+                                    CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
+        if (spec == null) {
+            return;
+        }
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
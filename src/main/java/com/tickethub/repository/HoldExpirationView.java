@@ -0,0 +1,8 @@
+package com.tickethub.repository;
+
+import java.time.LocalDateTime;
+
+public interface HoldExpirationView {
+    Long getId();
+    LocalDateTime getExpiresAt();
+}
@@ -0,0 +1,103 @@
+package com.tickethub.repository;
+
+import com.tickethub.idempotency.StoredResponse;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Durable side of the idempotency store. A key is claimed with an insert before the request runs,
+ * which is what stops duplicates arriving at other instances; the row then holds the response.
+ * Statements run outside the request's own transaction.
+ */
+@Repository
+public class IdempotencyKeyRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public IdempotencyKeyRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Claims the key for a new execution, taking over a row whose lease or retention has expired.
+     * Returns false when a live row already exists.
+     */
+    public boolean claim(String scopeHash, String requestHash, LocalDateTime leaseUntil, LocalDateTime now) {
+        return jdbcTemplate.update(
+                "INSERT INTO idempotency_keys (scope_hash, request_hash, created_at, expires_at)"
+                        + " VALUES (:scope, :requestHash, :now, :leaseUntil)"
+                        + " ON CONFLICT (scope_hash) DO UPDATE SET request_hash = EXCLUDED.request_hash,"
+                        + " status_code = NULL, content_type = NULL, body = NULL,"
+                        + " created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at"
+                        + " WHERE idempotency_keys.expires_at < :now",
+                new MapSqlParameterSource()
+                        .addValue("scope", scopeHash)
+                        .addValue("requestHash", requestHash)
+                        .addValue("now", now)
+                        .addValue("leaseUntil", leaseUntil)) == 1;
+    }
+
+    /** The stored response, or empty while the key's first request is still running (or gone). */
+    public Optional<StoredResponse> findCompleted(String scopeHash) {
+        List<StoredResponse> rows = jdbcTemplate.query(
+                "SELECT request_hash, status_code, content_type, body FROM idempotency_keys"
+                        + " WHERE scope_hash = :scope AND status_code IS NOT NULL",
+                Map.of("scope", scopeHash),
+                (row, rowNum) -> new StoredResponse(
+                        row.getString("request_hash"),
+                        row.getInt("status_code"),
+                        row.getString("content_type"),
+                        row.getBytes("body")));
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    /**
+     * Stores the response, provided the key is still held by an unfinished claim for this request.
+     * Returns false when the claim lapsed and the key was taken over in the meantime.
+     */
+    public boolean complete(String scopeHash, String requestHash, StoredResponse response, LocalDateTime expiresAt) {
+        return jdbcTemplate.update(
+                "UPDATE idempotency_keys SET status_code = :status, content_type = :contentType, body = :body,"
+                        + " expires_at = :expiresAt WHERE scope_hash = :scope"
+                        + " AND request_hash = :requestHash AND status_code IS NULL",
+                new MapSqlParameterSource()
+                        .addValue("scope", scopeHash)
+                        .addValue("requestHash", requestHash)
+                        .addValue("status", response.status())
+                        .addValue("contentType", response.contentType())
+                        .addValue("body", response.body())
+                        .addValue("expiresAt", expiresAt)) == 1;
+    }
+
+    /** Pushes back the lease of claims whose requests are still running. */
+    public int renewLeases(Collection<String> scopeHashes, LocalDateTime leaseUntil) {
+        if (scopeHashes.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(
+                "UPDATE idempotency_keys SET expires_at = :leaseUntil"
+                        + " WHERE scope_hash IN (:scopes) AND status_code IS NULL",
+                new MapSqlParameterSource()
+                        .addValue("scopes", scopeHashes)
+                        .addValue("leaseUntil", leaseUntil));
+    }
+
+    // Frees a claim whose request produced nothing worth replaying, so a retry can run it again
+    public void release(String scopeHash, String requestHash) {
+        jdbcTemplate.update(
+                "DELETE FROM idempotency_keys WHERE scope_hash = :scope AND request_hash = :requestHash"
+                        + " AND status_code IS NULL",
+                Map.of("scope", scopeHash, "requestHash", requestHash));
+    }
+
+    public int deleteExpired(LocalDateTime now) {
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < :now", Map.of("now", now));
+    }
+}
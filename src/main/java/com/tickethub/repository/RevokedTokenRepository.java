@@ -0,0 +1,58 @@
+package com.tickethub.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Durable list of revoked token ids, kept until each token would have expired on its own. Shared
+ * by all instances; each one holds the unexpired rows in memory.
+ */
+@Repository
+public class RevokedTokenRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public RevokedTokenRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public record RevokedToken(String tokenId, LocalDateTime revokedAt, LocalDateTime expiresAt) {
+    }
+
+    public void revoke(String tokenId, Long userId, LocalDateTime expiresAt) {
+        jdbcTemplate.update(
+                "INSERT INTO revoked_tokens (jti, user_id, revoked_at, expires_at)"
+                        + " VALUES (:jti, :userId, now(), :expiresAt) ON CONFLICT (jti) DO NOTHING",
+                new MapSqlParameterSource()
+                        .addValue("jti", tokenId)
+                        .addValue("userId", userId)
+                        .addValue("expiresAt", expiresAt));
+    }
+
+    public boolean isRevoked(String tokenId, LocalDateTime now) {
+        return !jdbcTemplate.queryForList(
+                "SELECT 1 FROM revoked_tokens WHERE jti = :jti AND expires_at > :now",
+                Map.of("jti", tokenId, "now", now), Integer.class).isEmpty();
+    }
+
+    /** Unexpired revocations made at or after {@code since}. */
+    public List<RevokedToken> findRevokedSince(LocalDateTime since, LocalDateTime now) {
+        return jdbcTemplate.query(
+                "SELECT jti, revoked_at, expires_at FROM revoked_tokens"
+                        + " WHERE revoked_at >= :since AND expires_at > :now",
+                Map.of("since", since, "now", now),
+                (row, rowNum) -> new RevokedToken(
+                        row.getString("jti"),
+                        row.getTimestamp("revoked_at").toLocalDateTime(),
+                        row.getTimestamp("expires_at").toLocalDateTime()));
+    }
+
+    public int deleteExpired(LocalDateTime now) {
+        return jdbcTemplate.update("DELETE FROM revoked_tokens WHERE expires_at <= :now", Map.of("now", now));
+    }
+}
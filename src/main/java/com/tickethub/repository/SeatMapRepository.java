@@ -0,0 +1,65 @@
+package com.tickethub.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stores per-event seat bitmaps. Bit {@code n} of the bitmap is bit {@code n % 8} of byte {@code n / 8},
+ * which is the numbering PostgreSQL's {@code set_bit} uses, so single seats can be flipped in place.
+ */
+@Repository
+public class SeatMapRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public SeatMapRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Map<Long, byte[]> findByEventId(Long eventId) {
+        Map<Long, byte[]> seatMaps = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT section_id, seats FROM event_seat_maps WHERE event_id = :eventId",
+                Map.of("eventId", eventId),
+                row -> {
+                    seatMaps.put(row.getLong("section_id"), row.getBytes("seats"));
+                });
+        return seatMaps;
+    }
+
+    /**
+     * Clears the given bits, but only if every one of them is still set, and reports whether it did.
+     * Only the changed seats are written, so concurrent reservations in the same section never overwrite
+     * each other's uncommitted state; the first write for a section seeds the row from
+     * {@code initialSeats}. False means another reservation, possibly on another instance or against a
+     * stale cached map, already took one of the seats.
+     */
+    public boolean takeSeats(Long eventId, Long sectionId, int[] bits, byte[] initialSeats, LocalDateTime now) {
+        StringBuilder seats = new StringBuilder("seats");
+        StringBuilder free = new StringBuilder();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("eventId", eventId)
+                .addValue("sectionId", sectionId)
+                .addValue("now", now);
+        for (int i = 0; i < bits.length; i++) {
+            seats.insert(0, "set_bit(").append(", :bit").append(i).append(", 0)");
+            free.append(" AND get_bit(seats, :bit").append(i).append(") = 1");
+            params.addValue("bit" + i, bits[i]);
+        }
+        String update = "UPDATE event_seat_maps SET seats = " + seats + ", updated_at = :now"
+                + " WHERE event_id = :eventId AND section_id = :sectionId" + free;
+        if (jdbcTemplate.update(update, params) == 1) {
+            return true;
+        }
+        jdbcTemplate.update(
+                "INSERT INTO event_seat_maps (event_id, section_id, seats, updated_at)"
+                        + " VALUES (:eventId, :sectionId, :initialSeats, :now) ON CONFLICT DO NOTHING",
+                new MapSqlParameterSource(params.getValues()).addValue("initialSeats", initialSeats));
+        return jdbcTemplate.update(update, params) == 1;
+    }
+}
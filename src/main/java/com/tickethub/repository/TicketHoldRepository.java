@@ -0,0 +1,24 @@
+package com.tickethub.repository;
+
+import com.tickethub.entity.TicketHold;
+import com.tickethub.enums.HoldStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TicketHoldRepository extends JpaRepository<TicketHold, Long>, TicketHoldRepositoryCustom {
+
+    List<HoldExpirationView> findExpirationsByStatus(HoldStatus status);
+
+    // Conditional so a confirm, a release and the expiry sweep can race and exactly one of them wins
+    @Modifying
+    @Query("update TicketHold h set h.status = :to, h.updatedAt = :now"
+            + " where h.id = :id and h.status = com.tickethub.enums.HoldStatus.ACTIVE and h.expiresAt > :now")
+    int transitionActive(@Param("id") Long id, @Param("to") HoldStatus to, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,14 @@
+package com.tickethub.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+public interface TicketHoldRepositoryCustom {
+
+    /**
+     * Marks the given holds EXPIRED if they are still ACTIVE, in one statement, and returns the
+     * released quantity per event so tickets go back with one update per event rather than per hold.
+     */
+    Map<Long, Integer> expireHolds(Collection<Long> holdIds, LocalDateTime now);
+}
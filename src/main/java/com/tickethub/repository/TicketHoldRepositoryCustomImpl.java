@@ -0,0 +1,34 @@
+package com.tickethub.repository;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+public class TicketHoldRepositoryCustomImpl implements TicketHoldRepositoryCustom {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TicketHoldRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Map<Long, Integer> expireHolds(Collection<Long> holdIds, LocalDateTime now) {
+        Map<Long, Integer> released = new HashMap<>();
+        if (holdIds.isEmpty()) {
+            return released;
+        }
+        jdbcTemplate.query(
+                "WITH expired AS (UPDATE ticket_holds SET status = 'EXPIRED', updated_at = :now"
+                        + " WHERE id IN (:ids) AND status = 'ACTIVE' RETURNING event_id, quantity)"
+                        + " SELECT event_id, SUM(quantity) AS quantity FROM expired GROUP BY event_id",
+                Map.of("ids", holdIds, "now", now),
+                row -> {
+                    released.put(row.getLong("event_id"), row.getInt("quantity"));
+                });
+        return released;
+    }
+}
@@ -0,0 +1,51 @@
+package com.tickethub.repository;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user token versions. Only users whose tokens have been invalidated at least once have a row,
+ * so the table stays small enough to hold in memory.
+ */
+@Repository
+public class TokenVersionRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TokenVersionRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public record TokenVersion(long userId, int version, LocalDateTime updatedAt) {
+    }
+
+    public int findVersion(long userId) {
+        List<Integer> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM user_token_versions WHERE user_id = :userId",
+                Map.of("userId", userId), Integer.class);
+        return versions.isEmpty() ? 0 : versions.get(0);
+    }
+
+    /** Bumps the user's version and returns the new one. */
+    public int increment(long userId) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO user_token_versions (user_id, version, updated_at) VALUES (:userId, 1, now())"
+                        + " ON CONFLICT (user_id) DO UPDATE SET version = user_token_versions.version + 1,"
+                        + " updated_at = now() RETURNING version",
+                Map.of("userId", userId), Integer.class);
+    }
+
+    public List<TokenVersion> findUpdatedSince(LocalDateTime since) {
+        return jdbcTemplate.query(
+                "SELECT user_id, version, updated_at FROM user_token_versions WHERE updated_at >= :since",
+                Map.of("since", since),
+                (row, rowNum) -> new TokenVersion(
+                        row.getLong("user_id"),
+                        row.getInt("version"),
+                        row.getTimestamp("updated_at").toLocalDateTime()));
+    }
+}
@@ -0,0 +1,6 @@
+package com.tickethub.repository;
+
+public interface VenueCityView {
+    Long getId();
+    String getCity();
+}
@@ -0,0 +1,20 @@
+package com.tickethub.repository;
+
+import com.tickethub.entity.VenueSection;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface VenueSectionRepository extends JpaRepository<VenueSection, Long> {
+
+    @EntityGraph(attributePaths = "rows")
+    List<VenueSection> findByVenueIdOrderByRankAscIdAsc(Long venueId);
+
+    @Query("select coalesce(sum(r.seatCount), 0) from VenueRow r where r.section.venue.id = :venueId")
+    long countSeatsByVenueId(@Param("venueId") Long venueId);
+}
@@ -3,6 +3,7 @@ package com.tickethub.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.tickethub.entity.Venue;
@@ -13,4 +14,7 @@ public interface venueRepository extends JpaRepository<Venue, Long>
      List<Venue> findByName(String name);
 
      List<Venue> findBycity(String city);
+
+     @Query("select v.id as id, v.city as city from Venue v")
+     List<VenueCityView> findAllCities();
 }
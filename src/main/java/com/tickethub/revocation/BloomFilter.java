@@ -0,0 +1,86 @@
+package com.tickethub.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings. {@link #mightContain} never misses an added key and is
+ * wrong about an absent one with roughly the probability the filter was sized for, as long as no
+ * more keys than expected are added. Bits sit in an {@link AtomicLongArray}, so adds and lookups
+ * need no locking; the {@code k} bit positions come from double hashing ({@code h1 + i * h2}) of
+ * one 64-bit hash split in two, which behaves like {@code k} independent hashes at the cost of one.
+ * <p>
+ * Keys cannot be removed; a filter whose keys have gone stale is replaced by a rebuilt one.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.words = new AtomicLongArray(Math.toIntExact((bitCount + 63) >>> 6));
+        this.bitCount = (long) words.length() << 6;
+        this.hashCount = hashCount;
+    }
+
+    /** A filter for up to {@code expectedKeys} keys at the given false-positive rate. */
+    public static BloomFilter create(long expectedKeys, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+        long keys = Math.max(1, expectedKeys);
+        long bits = Math.max(64, (long) Math.ceil(-keys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        int hashes = Math.max(1, (int) Math.round((double) bits / keys * Math.log(2)));
+        return new BloomFilter(bits, hashes);
+    }
+
+    public void put(CharSequence key) {
+        long hash = hash64(key);
+        long h1 = hash >>> 32;
+        long h2 = (hash & 0xFFFFFFFFL) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, add) -> current | add);
+            }
+        }
+    }
+
+    public boolean mightContain(CharSequence key) {
+        long hash = hash64(key);
+        long h1 = hash >>> 32;
+        long h2 = (hash & 0xFFFFFFFFL) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitCount() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    // FNV-1a over the chars, finished with the murmur3 64-bit mixer so both halves are well spread
+    private static long hash64(CharSequence key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
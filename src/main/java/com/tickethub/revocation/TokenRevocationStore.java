@@ -0,0 +1,154 @@
+package com.tickethub.revocation;
+
+import com.tickethub.repository.RevokedTokenRepository;
+import com.tickethub.repository.RevokedTokenRepository.RevokedToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked token ids, checked on every authenticated request without touching the database.
+ * <p>
+ * The ids live in memory with their token's expiry, backed by the {@code revoked_tokens} table so
+ * they survive restarts and reach other instances, which pull new rows every refresh interval.
+ * A {@link BloomFilter} over the same ids sits in front: nearly every token was never revoked, and
+ * for those the filter answers "no" from a few bit reads without hashing into the map. Only filter
+ * hits consult the map. Revocations are only kept until the token would have expired anyway; the
+ * cleanup drops those entries and rebuilds the filter without them, since a Bloom filter cannot
+ * forget a key. Until the first load completes, checks go to the table directly.
+ */
+@Component
+@Slf4j
+public class TokenRevocationStore {
+
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private final Counter filtered;
+    private final Counter falsePositives;
+    private final Counter rejected;
+
+    private volatile BloomFilter filter;
+    private long filterCapacity;
+    private volatile boolean loaded;
+    private LocalDateTime watermark = EPOCH;
+
+    public TokenRevocationStore(RevokedTokenRepository revokedTokenRepository,
+                                @Value("${tickethub.security.revocation.expected-entries:100000}") long expectedEntries,
+                                @Value("${tickethub.security.revocation.false-positive-rate:0.001}") double falsePositiveRate,
+                                MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = BloomFilter.create(expectedEntries, falsePositiveRate);
+        this.filterCapacity = expectedEntries;
+        this.filtered = checks(meterRegistry, "filtered");
+        this.falsePositives = checks(meterRegistry, "false_positive");
+        this.rejected = checks(meterRegistry, "revoked");
+    }
+
+    private static Counter checks(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("tickethub.security.revocation.checks")
+                .description("Token revocation checks by how they were answered")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+        log.info("Loaded {} revoked tokens", revoked.size());
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (!loaded) {
+            return revokedTokenRepository.isRevoked(tokenId, LocalDateTime.now());
+        }
+        if (!filter.mightContain(tokenId)) {
+            filtered.increment();
+            return false;
+        }
+        LocalDateTime expiresAt = revoked.get(tokenId);
+        if (expiresAt == null) {
+            falsePositives.increment();
+            return false;
+        }
+        rejected.increment();
+        return true;
+    }
+
+    public void revoke(String tokenId, Long userId, Instant expiresAt) {
+        LocalDateTime expiry = LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault());
+        revokedTokenRepository.revoke(tokenId, userId, expiry);
+        add(tokenId, expiry);
+    }
+
+    @Scheduled(fixedDelayString = "${tickethub.security.revocation.refresh-interval-ms:5000}",
+            initialDelayString = "${tickethub.security.revocation.refresh-interval-ms:5000}")
+    public void refresh() {
+        LocalDateTime since;
+        synchronized (writeLock) {
+            since = watermark == EPOCH ? EPOCH : watermark.minus(REFRESH_OVERLAP);
+        }
+        List<RevokedToken> rows = revokedTokenRepository.findRevokedSince(since, LocalDateTime.now());
+        synchronized (writeLock) {
+            for (RevokedToken row : rows) {
+                add(row.tokenId(), row.expiresAt());
+                if (row.revokedAt().isAfter(watermark)) {
+                    watermark = row.revokedAt();
+                }
+            }
+            loaded = true;
+        }
+    }
+
+    /**
+     * Forgets revocations whose tokens have expired and rebuilds the filter from what is left, also
+     * growing it if more ids were added than it was sized for.
+     */
+    @Scheduled(fixedDelayString = "${tickethub.security.revocation.cleanup-interval-ms:600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        synchronized (writeLock) {
+            int before = revoked.size();
+            revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+            if (revoked.size() == before && before <= filterCapacity) {
+                return;
+            }
+            // Headroom for the revocations made before the next cleanup
+            filterCapacity = Math.max(expectedEntries, 2L * revoked.size());
+            BloomFilter rebuilt = BloomFilter.create(filterCapacity, falsePositiveRate);
+            revoked.keySet().forEach(rebuilt::put);
+            filter = rebuilt;
+            log.info("Dropped {} expired token revocations ({} rows deleted), {} remain",
+                    before - revoked.size(), deleted, revoked.size());
+        }
+    }
+
+    private void add(String tokenId, LocalDateTime expiresAt) {
+        synchronized (writeLock) {
+            // Map first: a filter hit must always find the entry
+            revoked.put(tokenId, expiresAt);
+            filter.put(tokenId);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.tickethub.search;
+
+import com.tickethub.dto.venueDto.CitySuggestionResponse;
+import com.tickethub.repository.VenueCityView;
+import com.tickethub.repository.venueRepository;
+import com.tickethub.services.VenueChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Normalized dictionary of venue cities built from the venues table. Resolves a city filter to the
+ * venue ids it covers, so event queries filter on the indexed {@code venue_id} instead of joining
+ * venues and scanning {@code lower(city)}, and backs city autocomplete with a prefix trie.
+ * <p>
+ * Rebuilt at startup, after every committed venue change on this instance, and periodically so
+ * changes made on other instances are picked up. {@link #resolve} leaves criteria untouched, and the
+ * query falls back to the city join, until the first build completes, when the last successful
+ * build is older than the maximum age, and when a filter matches more venues than the id cap (a
+ * one-letter city matches nearly all of them, and every id is a bind parameter).
+ */
+@Component
+@Slf4j
+public class CityDictionary {
+
+    private final venueRepository venueRepository;
+    private final int maxVenueIds;
+    private final long maxAgeNanos;
+    // A slow rebuild must not replace the snapshot of one that started after it
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    public CityDictionary(venueRepository venueRepository,
+                          @Value("${tickethub.search.city-dictionary.max-venue-ids:500}") int maxVenueIds,
+                          @Value("${tickethub.search.city-dictionary.max-age:5m}") Duration maxAge) {
+        this.venueRepository = venueRepository;
+        this.maxVenueIds = maxVenueIds;
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+        log.info("City dictionary built with {} cities", snapshot.cities.size());
+    }
+
+    @TransactionalEventListener
+    public void onVenueChanged(VenueChangedEvent change) {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${tickethub.search.city-dictionary.refresh-interval-ms:60000}",
+            initialDelayString = "${tickethub.search.city-dictionary.refresh-interval-ms:60000}")
+    public void refresh() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("City dictionary refresh failed, keeping the previous build", e);
+        }
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            snapshot = new Snapshot(venueRepository.findAllCities(), System.nanoTime());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the criteria with its city filter resolved to venue ids, using the same
+     * case-insensitive substring semantics as the city LIKE filter. Returns it unchanged when the
+     * dictionary is missing or stale, or the city matches more venues than the cap.
+     */
+    public EventSearchCriteria resolve(EventSearchCriteria criteria) {
+        Snapshot current = snapshot;
+        if (current == null || criteria.getCity() == null
+                || System.nanoTime() - current.builtAtNanos >= maxAgeNanos) {
+            return criteria;
+        }
+        Set<Long> venueIds = new TreeSet<>();
+        for (Map.Entry<String, CityEntry> city : current.cities.entrySet()) {
+            if (city.getKey().contains(criteria.getCity())) {
+                venueIds.addAll(city.getValue().venueIds);
+                if (venueIds.size() > maxVenueIds) {
+                    return criteria;
+                }
+            }
+        }
+        return criteria.withCityVenueIds(venueIds);
+    }
+
+    public List<CitySuggestionResponse> autocomplete(String prefix, int limit) {
+        Snapshot current = snapshot;
+        if (current == null || prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        return current.trie.complete(normalize(prefix), limit).stream()
+                .map(key -> current.cities.get(key))
+                .map(entry -> CitySuggestionResponse.builder()
+                        .city(entry.displayName)
+                        .venueCount(entry.venueIds.size())
+                        .build())
+                .toList();
+    }
+
+    static String normalize(String city) {
+        return city.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class CityEntry {
+        private final Set<Long> venueIds = new HashSet<>();
+        private final Map<String, Integer> spellings = new HashMap<>();
+        private String displayName;
+    }
+
+    private static class Snapshot {
+        private final Map<String, CityEntry> cities = new HashMap<>();
+        private final PrefixTrie<String> trie = new PrefixTrie<>();
+        private final long builtAtNanos;
+
+        Snapshot(List<VenueCityView> venues, long builtAtNanos) {
+            this.builtAtNanos = builtAtNanos;
+            for (VenueCityView venue : venues) {
+                CityEntry entry = cities.computeIfAbsent(normalize(venue.getCity()), key -> new CityEntry());
+                entry.venueIds.add(venue.getId());
+                entry.spellings.merge(venue.getCity().trim(), 1, Integer::sum);
+            }
+            cities.forEach((key, entry) -> {
+                // Show the spelling most venues use
+                entry.displayName = Collections.max(entry.spellings.entrySet(), Map.Entry.comparingByValue()).getKey();
+                // Index every word start so "york" completes "New York"
+                for (int i = 0; i < key.length(); i++) {
+                    if (i == 0 || key.charAt(i - 1) == ' ') {
+                        trie.put(key.substring(i), key);
+                    }
+                }
+            });
+        }
+    }
+}
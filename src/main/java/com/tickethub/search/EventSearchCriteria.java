@@ -0,0 +1,116 @@
+package com.tickethub.search;
+
+import com.tickethub.dto.eventDto.EventSummaryResponse;
+import com.tickethub.entity.Event;
+import com.tickethub.enums.EventCategory;
+import com.tickethub.enums.EventStatus;
+import com.tickethub.specification.EventSpecification;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The public event filter set as one immutable value. {@link #matches} mirrors
+ * {@link EventSpecification#combineSpecifications} so in-memory structures answer exactly like the database.
+ * <p>
+ * {@code cityVenueIds}, when set by {@link CityDictionary#resolve}, holds the venues the city filter
+ * covers; queries then filter on venue id instead of the venue city. It takes part in equality, so a
+ * cached result never outlives the venue set it was computed for.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class EventSearchCriteria {
+
+    private final String searchQuery;
+    private final EventCategory category;
+    private final String city;
+    private final LocalDateTime startDate;
+    private final LocalDateTime endDate;
+    private final BigDecimal minPrice;
+    private final BigDecimal maxPrice;
+    private final Set<Long> cityVenueIds;
+
+    public static EventSearchCriteria of(String searchQuery, EventCategory category, String city,
+                                         LocalDateTime startDate, LocalDateTime endDate,
+                                         BigDecimal minPrice, BigDecimal maxPrice) {
+        return new EventSearchCriteria(normalizeText(searchQuery), category, normalizeText(city),
+                startDate, endDate, stripPrice(minPrice), stripPrice(maxPrice), null);
+    }
+
+    public static EventSearchCriteria none() {
+        return new EventSearchCriteria(null, null, null, null, null, null, null, null);
+    }
+
+    public EventSearchCriteria withoutSearchQuery() {
+        return new EventSearchCriteria(null, category, city, startDate, endDate, minPrice, maxPrice, cityVenueIds);
+    }
+
+    public EventSearchCriteria withCityVenueIds(Set<Long> venueIds) {
+        return new EventSearchCriteria(searchQuery, category, city, startDate, endDate, minPrice, maxPrice,
+                Set.copyOf(venueIds));
+    }
+
+    public Specification<Event> toSpecification() {
+        if (cityVenueIds == null) {
+            return EventSpecification.combineSpecifications(
+                    searchQuery, category, city, startDate, endDate, minPrice, maxPrice);
+        }
+        return EventSpecification.combineSpecifications(
+                        searchQuery, category, null, startDate, endDate, minPrice, maxPrice)
+                .and(EventSpecification.hasVenueIn(cityVenueIds));
+    }
+
+    public boolean matches(EventSummaryResponse event) {
+        if (event == null || event.getStatus() != EventStatus.PUBLISHED) {
+            return false;
+        }
+        if (searchQuery != null
+                && !containsIgnoreCase(event.getName(), searchQuery)
+                && !containsIgnoreCase(event.getArtistName(), searchQuery)) {
+            return false;
+        }
+        if (category != null && category != event.getCategory()) {
+            return false;
+        }
+        if (city != null && !containsIgnoreCase(event.getVenueCity(), city)) {
+            return false;
+        }
+        if (startDate != null && event.getEventDateTime().isBefore(startDate)) {
+            return false;
+        }
+        if (endDate != null && event.getEventDateTime().isAfter(endDate)) {
+            return false;
+        }
+        if (minPrice != null && event.getPrice().compareTo(minPrice) < 0) {
+            return false;
+        }
+        return maxPrice == null || event.getPrice().compareTo(maxPrice) <= 0;
+    }
+
+    private static boolean containsIgnoreCase(String value, String lowerCaseNeedle) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(lowerCaseNeedle);
+    }
+
+    private static String normalizeText(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // 10, 10.0 and 10.00 are the same filter
+    private static BigDecimal stripPrice(BigDecimal price) {
+        return price == null ? null : price.stripTrailingZeros();
+    }
+}
@@ -0,0 +1,388 @@
+package com.tickethub.search;
+
+import com.tickethub.dto.eventDto.EventFacetsResponse;
+import com.tickethub.dto.eventDto.EventSummaryResponse;
+import com.tickethub.enums.EventCategory;
+import com.tickethub.enums.EventStatus;
+import com.tickethub.repository.EventRepository;
+import com.tickethub.services.EventChangedEvent;
+import com.tickethub.services.TicketInventoryChangedEvent;
+import com.tickethub.services.VenueChangedEvent;
+import com.tickethub.specification.EventSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-process search engine over PUBLISHED events. Keeps a trigram inverted index over
+ * name and artist, a category index, and date/price columns sorted by value, so listing and
+ * search requests are answered without a database round trip.
+ * <p>
+ * Built once the application is ready and kept current from {@link EventChangedEvent}s after commit.
+ * Until it is ready (or when disabled) {@link #search} returns empty and callers use the database.
+ */
+@Component
+@Slf4j
+public class EventSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private static final Map<String, Comparator<EventSummaryResponse>> SORTABLE = Map.of(
+            "id", Comparator.comparing(EventSummaryResponse::getId),
+            "name", Comparator.comparing(EventSummaryResponse::getName),
+            "eventDateTime", Comparator.comparing(EventSummaryResponse::getEventDateTime),
+            "price", Comparator.comparing(EventSummaryResponse::getPrice),
+            "availableTickets", Comparator.comparing(EventSummaryResponse::getAvailableTickets));
+
+    private final EventRepository eventRepository;
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+    private boolean ready;
+    // Changes committed while a rebuild is reading the database, replayed onto the new segment
+    private List<Consumer<Segment>> pendingDuringRebuild;
+    // One rebuild at a time: they share the pending list, and a later rebuild (after a venue change)
+    // must not be replaced by an earlier one that read the database before it
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public EventSearchIndex(EventRepository eventRepository,
+                            @Value("${tickethub.search.in-memory.enabled:false}") boolean enabled) {
+        this.eventRepository = eventRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            rebuildExclusively();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildExclusively() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment rebuilt = new Segment();
+        boolean loaded = false;
+        try {
+            eventRepository.findSummaries(EventSpecification.isPublished(), Pageable.unpaged())
+                    .forEach(rebuilt::put);
+            loaded = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    pendingDuringRebuild.forEach(change -> change.accept(rebuilt));
+                    segment = rebuilt;
+                    ready = true;
+                }
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Event search index built with {} published events", rebuilt.documents.size());
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return ready;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Answers a listing or filtered search from memory, or returns empty when the index is not
+     * ready or the requested sort is not one it keeps columns for.
+     */
+    public Optional<Page<EventSummaryResponse>> search(EventSearchCriteria criteria, Pageable pageable) {
+        Optional<Comparator<EventSummaryResponse>> order = comparatorFor(pageable.getSort());
+        if (order.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<EventSummaryResponse> matches;
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                return Optional.empty();
+            }
+            matches = segment.candidates(criteria)
+                    .filter(criteria::matches)
+                    .sorted(order.get())
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (pageable.isUnpaged()) {
+            return Optional.of(new PageImpl<>(matches, pageable, matches.size()));
+        }
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        return Optional.of(new PageImpl<>(matches.subList(from, to), pageable, matches.size()));
+    }
+
+    /**
+     * Facet counts for the criteria in one pass over the matching documents,
+     * or empty when the index is not ready.
+     */
+    public Optional<EventFacetsResponse> facets(EventSearchCriteria criteria, PriceBuckets priceBuckets) {
+        long total = 0;
+        Map<EventCategory, Long> categories = new EnumMap<>(EventCategory.class);
+        Map<String, Long> cities = new TreeMap<>();
+        long[] buckets = new long[priceBuckets.size()];
+
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                return Optional.empty();
+            }
+            Iterator<EventSummaryResponse> matches = segment.candidates(criteria).filter(criteria::matches).iterator();
+            while (matches.hasNext()) {
+                EventSummaryResponse event = matches.next();
+                total++;
+                categories.merge(event.getCategory(), 1L, Long::sum);
+                cities.merge(event.getVenueCity(), 1L, Long::sum);
+                buckets[priceBuckets.indexOf(event.getPrice())]++;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return Optional.of(EventFacetsResponse.builder()
+                .total(total)
+                .categories(categories)
+                .cities(cities)
+                .priceBuckets(priceBuckets.toFacets(buckets))
+                .build());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        update(target -> apply(target, change));
+    }
+
+    // Availability is display-only here, so the document is swapped without touching the postings
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(TicketInventoryChangedEvent change) {
+        update(target -> target.documents.computeIfPresent(change.getEventId(),
+                (id, event) -> withAvailableTickets(event, change.getAvailableTickets())));
+    }
+
+    // Venue renames are rare admin operations; reloading is simpler than tracking venue ids per document
+    @TransactionalEventListener
+    public void onVenueChanged(VenueChangedEvent change) {
+        if (enabled && isReady()) {
+            rebuild();
+        }
+    }
+
+    private void update(Consumer<Segment> change) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+            change.accept(segment);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(Segment target, EventChangedEvent change) {
+        target.remove(change.getEventId());
+        EventSummaryResponse current = change.getCurrent();
+        if (current != null && current.getStatus() == EventStatus.PUBLISHED) {
+            target.put(current);
+        }
+    }
+
+    // Documents may already be referenced by returned pages, so they are replaced rather than mutated
+    private static EventSummaryResponse withAvailableTickets(EventSummaryResponse event, int availableTickets) {
+        return EventSummaryResponse.builder()
+                .id(event.getId())
+                .name(event.getName())
+                .artistName(event.getArtistName())
+                .eventDateTime(event.getEventDateTime())
+                .price(event.getPrice())
+                .availableTickets(availableTickets)
+                .imageUrl(event.getImageUrl())
+                .status(event.getStatus())
+                .category(event.getCategory())
+                .venueName(event.getVenueName())
+                .venueCity(event.getVenueCity())
+                .build();
+    }
+
+    private static Optional<Comparator<EventSummaryResponse>> comparatorFor(Sort sort) {
+        Comparator<EventSummaryResponse> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<EventSummaryResponse> next = SORTABLE.get(order.getProperty());
+            if (next == null) {
+                return Optional.empty();
+            }
+            next = order.isDescending() ? next.reversed() : next;
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        // Ties broken by id so paging is stable
+        Comparator<EventSummaryResponse> byId = SORTABLE.get("id");
+        return Optional.of(comparator == null ? byId : comparator.thenComparing(byId));
+    }
+
+    private static Set<String> trigrams(String text) {
+        if (text == null) {
+            return Set.of();
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= lower.length(); i++) {
+            grams.add(lower.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * One generation of index structures. Not thread-safe on its own; guarded by the outer lock.
+     */
+    private static class Segment {
+        private final Map<Long, EventSummaryResponse> documents = new HashMap<>();
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+        private final Map<EventCategory, Set<Long>> byCategory = new EnumMap<>(EventCategory.class);
+        private final NavigableMap<LocalDateTime, Set<Long>> byDate = new TreeMap<>();
+        private final NavigableMap<BigDecimal, Set<Long>> byPrice = new TreeMap<>();
+
+        void put(EventSummaryResponse event) {
+            remove(event.getId());
+            Long id = event.getId();
+            documents.put(id, event);
+            for (String gram : documentTrigrams(event)) {
+                postings.computeIfAbsent(gram, key -> new HashSet<>()).add(id);
+            }
+            byCategory.computeIfAbsent(event.getCategory(), key -> new HashSet<>()).add(id);
+            byDate.computeIfAbsent(event.getEventDateTime(), key -> new HashSet<>()).add(id);
+            byPrice.computeIfAbsent(event.getPrice(), key -> new HashSet<>()).add(id);
+        }
+
+        void remove(Long id) {
+            EventSummaryResponse event = documents.remove(id);
+            if (event == null) {
+                return;
+            }
+            for (String gram : documentTrigrams(event)) {
+                removePosting(postings, gram, id);
+            }
+            removePosting(byCategory, event.getCategory(), id);
+            removePosting(byDate, event.getEventDateTime(), id);
+            removePosting(byPrice, event.getPrice(), id);
+        }
+
+        /**
+         * Narrows the search to the smallest posting list the criteria allow. The result is a
+         * superset of the matches; callers still apply {@link EventSearchCriteria#matches}.
+         */
+        Stream<EventSummaryResponse> candidates(EventSearchCriteria criteria) {
+            Set<Long> smallest = null;
+            if (criteria.getCategory() != null) {
+                smallest = byCategory.getOrDefault(criteria.getCategory(), Set.of());
+            }
+            if (criteria.getSearchQuery() != null && criteria.getSearchQuery().length() >= GRAM) {
+                Set<Long> textMatches = intersectPostings(trigrams(criteria.getSearchQuery()));
+                if (smallest == null || textMatches.size() < smallest.size()) {
+                    smallest = textMatches;
+                }
+            }
+            if (smallest != null) {
+                return smallest.stream().map(documents::get);
+            }
+
+            if (criteria.getStartDate() != null || criteria.getEndDate() != null) {
+                return ids(range(byDate, criteria.getStartDate(), criteria.getEndDate()));
+            }
+            if (criteria.getMinPrice() != null || criteria.getMaxPrice() != null) {
+                return ids(range(byPrice, criteria.getMinPrice(), criteria.getMaxPrice()));
+            }
+            return documents.values().stream();
+        }
+
+        private Stream<EventSummaryResponse> ids(NavigableMap<?, Set<Long>> column) {
+            return column.values().stream().flatMap(Set::stream).map(documents::get);
+        }
+
+        private Set<Long> intersectPostings(Set<String> grams) {
+            List<Set<Long>> lists = new ArrayList<>();
+            for (String gram : grams) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) {
+                    return Set.of();
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+            Set<Long> result = new HashSet<>(lists.get(0));
+            for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+                result.retainAll(lists.get(i));
+            }
+            return result;
+        }
+
+        private static <K extends Comparable<? super K>> NavigableMap<K, Set<Long>> range(
+                NavigableMap<K, Set<Long>> column, K from, K to) {
+            if (from != null && to != null) {
+                return from.compareTo(to) > 0 ? Collections.emptyNavigableMap() : column.subMap(from, true, to, true);
+            }
+            return from != null ? column.tailMap(from, true) : column.headMap(to, true);
+        }
+
+        private static Set<String> documentTrigrams(EventSummaryResponse event) {
+            Set<String> grams = new HashSet<>(trigrams(event.getName()));
+            grams.addAll(trigrams(event.getArtistName()));
+            return grams;
+        }
+
+        private static <K> void removePosting(Map<K, Set<Long>> index, K key, Long id) {
+            Set<Long> ids = index.get(key);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    index.remove(key);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.tickethub.search;
+
+import java.util.*;
+
+/**
+ * Character trie mapping normalized keys to values, for prefix completion.
+ * Children are kept sorted so completions come back in alphabetical order.
+ * Built once and then only read; not safe for concurrent modification.
+ */
+public class PrefixTrie<V> {
+
+    private final Node<V> root = new Node<>();
+
+    public void put(String key, V value) {
+        Node<V> node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node<>());
+        }
+        node.values.add(value);
+    }
+
+    /**
+     * Up to {@code limit} distinct values whose key starts with the prefix.
+     */
+    public List<V> complete(String prefix, int limit) {
+        Node<V> node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        Set<V> found = new LinkedHashSet<>();
+        if (node != null) {
+            collect(node, found, limit);
+        }
+        return new ArrayList<>(found);
+    }
+
+    private void collect(Node<V> start, Set<V> found, int limit) {
+        Deque<Node<V>> stack = new ArrayDeque<>();
+        stack.push(start);
+        while (!stack.isEmpty() && found.size() < limit) {
+            Node<V> node = stack.pop();
+            for (V value : node.values) {
+                if (found.size() >= limit) {
+                    return;
+                }
+                found.add(value);
+            }
+            // Push in reverse so the smallest child is visited first
+            for (Node<V> child : node.children.descendingMap().values()) {
+                stack.push(child);
+            }
+        }
+    }
+
+    private static class Node<V> {
+        private final TreeMap<Character, Node<V>> children = new TreeMap<>();
+        private final List<V> values = new ArrayList<>(1);
+    }
+}
@@ -0,0 +1,52 @@
+package com.tickethub.search;
+
+import com.tickethub.dto.eventDto.PriceBucketFacet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Price ranges used by the facet sidebar. Bucket {@code i} covers
+ * {@code [boundary(i-1), boundary(i))}; the last bucket is open-ended.
+ */
+@Component
+public class PriceBuckets {
+
+    private final List<BigDecimal> boundaries;
+
+    public PriceBuckets(@Value("${tickethub.search.facets.price-boundaries:25,50,100,250}") List<BigDecimal> boundaries) {
+        this.boundaries = boundaries.stream().sorted().toList();
+    }
+
+    public List<BigDecimal> getBoundaries() {
+        return boundaries;
+    }
+
+    public int size() {
+        return boundaries.size() + 1;
+    }
+
+    public int indexOf(BigDecimal price) {
+        for (int i = 0; i < boundaries.size(); i++) {
+            if (price.compareTo(boundaries.get(i)) < 0) {
+                return i;
+            }
+        }
+        return boundaries.size();
+    }
+
+    public List<PriceBucketFacet> toFacets(long[] counts) {
+        List<PriceBucketFacet> facets = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            facets.add(PriceBucketFacet.builder()
+                    .minPrice(i == 0 ? BigDecimal.ZERO : boundaries.get(i - 1))
+                    .maxPrice(i < boundaries.size() ? boundaries.get(i) : null)
+                    .count(counts[i])
+                    .build());
+        }
+        return facets;
+    }
+}
@@ -0,0 +1,142 @@
+package com.tickethub.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tickethub.dto.eventDto.EventSummaryResponse;
+import com.tickethub.services.EventChangedEvent;
+import com.tickethub.services.VenueChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-evicting cache of event listing/search results keyed by the normalized filter tuple
+ * and page. Entries are dropped after commit only when a changed event matches their filters before
+ * or after the change, so unrelated admin edits leave hot entries (home page tabs, top cities) in place.
+ * <p>
+ * Hit, miss, eviction and size metrics are published under {@code cache.*{cache=event-search}}.
+ */
+@Component
+@Slf4j
+public class SearchResultCache {
+
+    private static final String CACHE_NAME = "event-search";
+
+    private final boolean enabled;
+    private final Cache<Key, Object> cache;
+    private final Counter invalidations;
+    // Bumped on every invalidation, before the sweep; a load that started before a bump is not kept
+    private final AtomicLong generation = new AtomicLong();
+
+    public SearchResultCache(
+            @Value("${tickethub.search.cache.enabled:true}") boolean enabled,
+            @Value("${tickethub.search.cache.max-size:1000}") long maxSize,
+            @Value("${tickethub.search.cache.ttl:30s}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.invalidations = Counter.builder("tickethub.search.cache.invalidations")
+                .description("Cached search results dropped because a matching event changed")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+
+        long startedAt = generation.get();
+        T value = loader.get();
+        if (value != null && generation.get() == startedAt) {
+            cache.put(key, value);
+            // An invalidation bumps the generation before it sweeps the cache. If the bump landed
+            // before this check, the sweep may already have run and missed the put, so undo it here;
+            // if it lands after, the sweep sees the entry and drops it itself
+            if (generation.get() != startedAt) {
+                cache.asMap().remove(key, value);
+            }
+        }
+        return value;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        generation.incrementAndGet();
+        AtomicLong dropped = new AtomicLong();
+        cache.asMap().keySet().removeIf(key -> {
+            boolean affected = key.isAffectedBy(change.getPrevious()) || key.isAffectedBy(change.getCurrent());
+            if (affected) {
+                dropped.incrementAndGet();
+            }
+            return affected;
+        });
+        invalidations.increment(dropped.get());
+        log.debug("Event {} changed, dropped {} cached search results", change.getEventId(), dropped.get());
+    }
+
+    // Venue name/city changes can alter any listing row, so start over
+    @TransactionalEventListener
+    public void onVenueChanged(VenueChangedEvent change) {
+        generation.incrementAndGet();
+        invalidations.increment(cache.estimatedSize());
+        cache.invalidateAll();
+    }
+
+    public static Key key(String view, EventSearchCriteria criteria, Pageable pageable) {
+        return new Key(view, criteria, pageable.isPaged() ? pageable.getPageNumber() : -1,
+                pageable.isPaged() ? pageable.getPageSize() : -1, pageable.getSort());
+    }
+
+    public static Key key(String view, EventSearchCriteria criteria) {
+        return new Key(view, criteria, -1, -1, Sort.unsorted());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    @ToString
+    public static class Key {
+        private final String view;
+        private final EventSearchCriteria criteria;
+        private final int page;
+        private final int size;
+        private final Sort sort;
+
+        /**
+         * A changed event invalidates a result if it matches the result's filters: it may appear on the
+         * page or shift the total. Relevance-ranked results match on stemmed terms, so their text
+         * query is ignored and every result sharing the other filters is dropped.
+         */
+        boolean isAffectedBy(EventSummaryResponse event) {
+            if (event == null) {
+                return false;
+            }
+            boolean ranked = sort.getOrderFor("relevance") != null;
+            return (ranked ? criteria.withoutSearchQuery() : criteria).matches(event);
+        }
+    }
+}
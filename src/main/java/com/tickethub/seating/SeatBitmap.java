@@ -0,0 +1,194 @@
+package com.tickethub.seating;
+
+import java.util.Arrays;
+
+/**
+ * Seat availability for one section, one bit per seat (set = free). Every row starts on its own
+ * 64-bit word so a row scan never has to mask out a neighbouring row, and runs of free seats are found
+ * a word at a time with {@link Long#numberOfTrailingZeros}. An 80,000 seat stadium is 1,250 words, so
+ * a full best-available scan is a few microseconds.
+ *
+ * <p>Not thread-safe; callers synchronize on the owning seat map.
+ */
+public final class SeatBitmap {
+
+    private final int[] rowSeats;
+    private final int[] rowFirstBit;
+    private final long[] words;
+
+    private SeatBitmap(int[] rowSeats, long[] words) {
+        this.rowSeats = rowSeats.clone();
+        this.rowFirstBit = new int[rowSeats.length];
+        int wordCount = 0;
+        for (int row = 0; row < rowSeats.length; row++) {
+            rowFirstBit[row] = wordCount << 6;
+            wordCount += wordsFor(rowSeats[row]);
+        }
+        if (words == null) {
+            words = new long[wordCount];
+            for (int row = 0; row < rowSeats.length; row++) {
+                setRange(words, rowFirstBit[row], rowFirstBit[row] + rowSeats[row], true);
+            }
+        } else if (words.length != wordCount) {
+            throw new IllegalStateException("Seat map has " + words.length + " words, layout needs " + wordCount);
+        }
+        this.words = words;
+    }
+
+    public static SeatBitmap allAvailable(int[] rowSeats) {
+        return new SeatBitmap(rowSeats, null);
+    }
+
+    public static SeatBitmap fromBytes(int[] rowSeats, byte[] bytes) {
+        if (bytes.length % Long.BYTES != 0) {
+            throw new IllegalStateException("Seat map length " + bytes.length + " is not a whole number of words");
+        }
+        long[] words = new long[bytes.length / Long.BYTES];
+        for (int i = 0; i < bytes.length; i++) {
+            words[i >>> 3] |= (bytes[i] & 0xFFL) << ((i & 7) << 3);
+        }
+        return new SeatBitmap(rowSeats, words);
+    }
+
+    /** Little-endian within each word, so bit {@code n} lands in byte {@code n / 8} as PostgreSQL numbers it. */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[words.length * Long.BYTES];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (words[i >>> 3] >>> ((i & 7) << 3));
+        }
+        return bytes;
+    }
+
+    public int rows() {
+        return rowSeats.length;
+    }
+
+    public int seatsInRow(int row) {
+        return rowSeats[row];
+    }
+
+    public int available() {
+        int available = 0;
+        for (long word : words) {
+            available += Long.bitCount(word);
+        }
+        return available;
+    }
+
+    public boolean isAvailable(int row, int seat) {
+        int bit = bitOf(row, seat);
+        return (words[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /** Absolute bit index of a seat, as stored; {@code seat} is zero-based. */
+    public int bitOf(int row, int seat) {
+        if (seat < 0 || seat >= rowSeats[row]) {
+            throw new IndexOutOfBoundsException("Seat " + seat + " outside row " + row);
+        }
+        return rowFirstBit[row] + seat;
+    }
+
+    /**
+     * Finds {@code quantity} adjacent free seats in {@code row}, preferring the placement closest to the
+     * middle of the row. Returns the zero-based first seat, or -1 if no free run is long enough.
+     */
+    public int findBestInRow(int row, int quantity) {
+        int base = rowFirstBit[row];
+        int limit = base + rowSeats[row];
+        // Doubled so an odd quantity in an even row still compares exactly
+        int doubledCenter = rowSeats[row];
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+
+        int position = base;
+        while (position < limit) {
+            int runStart = nextSetBit(position, limit);
+            if (runStart < 0) {
+                break;
+            }
+            int runEnd = nextClearBit(runStart, limit);
+            if (runEnd - runStart >= quantity) {
+                int first = runStart - base;
+                int last = runEnd - base - quantity;
+                int centered = Math.max(first, Math.min(last, (doubledCenter - quantity) / 2));
+                int distance = Math.abs(2 * centered + quantity - doubledCenter);
+                if (distance < bestDistance) {
+                    best = centered;
+                    bestDistance = distance;
+                    if (distance <= 1) {
+                        break;
+                    }
+                }
+            }
+            position = runEnd;
+        }
+        return best;
+    }
+
+    public void take(int row, int seat, int quantity) {
+        int from = bitOf(row, seat);
+        bitOf(row, seat + quantity - 1);
+        setRange(words, from, from + quantity, false);
+    }
+
+    public void release(int row, int seat, int quantity) {
+        int from = bitOf(row, seat);
+        bitOf(row, seat + quantity - 1);
+        setRange(words, from, from + quantity, true);
+    }
+
+    public SeatBitmap copy() {
+        return new SeatBitmap(rowSeats, Arrays.copyOf(words, words.length));
+    }
+
+    private int nextSetBit(int from, int limit) {
+        int index = from >>> 6;
+        long word = words[index] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                int bit = (index << 6) + Long.numberOfTrailingZeros(word);
+                return bit < limit ? bit : -1;
+            }
+            if (++index << 6 >= limit) {
+                return -1;
+            }
+            word = words[index];
+        }
+    }
+
+    private int nextClearBit(int from, int limit) {
+        int index = from >>> 6;
+        long word = ~words[index] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return Math.min((index << 6) + Long.numberOfTrailingZeros(word), limit);
+            }
+            if (++index << 6 >= limit) {
+                return limit;
+            }
+            word = ~words[index];
+        }
+    }
+
+    private static void setRange(long[] words, int from, int to, boolean free) {
+        if (from >= to) {
+            return;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        for (int index = firstWord; index <= lastWord; index++) {
+            long mask = -1L;
+            if (index == firstWord) {
+                mask &= -1L << from;
+            }
+            if (index == lastWord) {
+                mask &= -1L >>> -to;
+            }
+            words[index] = free ? words[index] | mask : words[index] & ~mask;
+        }
+    }
+
+    private static int wordsFor(int seats) {
+        return (seats + 63) >>> 6;
+    }
+}
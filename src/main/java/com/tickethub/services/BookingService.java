@@ -0,0 +1,38 @@
+package com.tickethub.services;
+
+import com.tickethub.dto.bookingDto.BookingResponse;
+import com.tickethub.inventory.TicketInventory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingService {
+
+    private final TicketInventory ticketInventory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Reserves tickets through the configured {@link TicketInventory}; the event row is never loaded
+     * on the success path. Not transactional: every strategy commits the reservation itself, and the
+     * coalescing one only batches callers that are outside a transaction.
+     */
+    public BookingResponse bookTickets(Long eventId, int quantity, String userEmail) {
+        Objects.requireNonNull(eventId, "Event ID cannot be null");
+
+        int remaining = ticketInventory.reserveOrThrow(eventId, quantity);
+
+        eventPublisher.publishEvent(new TicketInventoryChangedEvent(eventId, remaining));
+        log.info("Booked {} tickets for event {} by user {}, {} left", quantity, eventId, userEmail, remaining);
+        return BookingResponse.builder()
+                .eventId(eventId)
+                .quantity(quantity)
+                .remainingTickets(remaining)
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.tickethub.services;
+
+import com.tickethub.dto.eventDto.EventSummaryResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by {@link EventService} whenever an event is created, modified or removed, and by the
+ * ticket inventory when a sale takes an event to SOLD_OUT or returned tickets put it back on sale.
+ * Listeners react after commit, or at once when the change was published outside a transaction
+ * (an inventory statement that committed on its own), comparing the listing view before and after
+ * the change ({@code previous} is null for new events, {@code current} is null for deleted ones).
+ */
+@Getter
+@AllArgsConstructor
+public class EventChangedEvent {
+    private final Long eventId;
+    private final EventSummaryResponse previous;
+    private final EventSummaryResponse current;
+}
@@ -0,0 +1,70 @@
+package com.tickethub.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tickethub.dto.eventDto.EventResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of event detail responses by id. Every change to an event bumps its
+ * {@code updatedAt}, which is also the version in the ETag, and evicts the entry after commit,
+ * so a cached response is always the current version.
+ */
+@Component
+public class EventDetailCache {
+
+    private final Cache<Long, EventResponse> cache;
+
+    public EventDetailCache(
+            @Value("${tickethub.events.detail-cache.max-size:5000}") long maxSize,
+            @Value("${tickethub.events.detail-cache.ttl:10m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "event-detail");
+    }
+
+    /**
+     * Returns the cached response or loads it once, even when many requests miss at the same time.
+     * An eviction racing with the load waits for it and then removes the loaded value.
+     */
+    public EventResponse get(Long id, Function<Long, EventResponse> loader) {
+        return cache.get(id, loader);
+    }
+
+    public void evict(Long id) {
+        cache.invalidate(id);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        evict(change.getEventId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(TicketInventoryChangedEvent change) {
+        evict(change.getEventId());
+    }
+
+    // Responses embed the venue summary
+    @TransactionalEventListener
+    public void onVenueChanged(VenueChangedEvent change) {
+        cache.invalidateAll();
+    }
+
+    public static String etagOf(EventResponse event) {
+        long version = event.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+        return "\"" + event.getId() + "-" + Long.toHexString(version) + "\"";
+    }
+}
@@ -0,0 +1,136 @@
+package com.tickethub.services;
+
+import com.tickethub.entity.Event;
+import com.tickethub.exception.EventConflictException;
+import com.tickethub.exception.ResourceNotFoundException;
+import com.tickethub.repository.EventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Runs a read-modify-write of one {@link Event} in its own transaction.
+ *
+ * <p>With the {@code optimistic} strategy (default) the event is read without locks and the
+ * {@code @Version} check at flush rejects a write that lost a race; the whole mutation is then re-run
+ * against fresh state, up to {@code max-attempts} times with jittered exponential backoff, before the
+ * caller gets a 409. With {@code pessimistic} the event is read with {@code SELECT ... FOR UPDATE}, so
+ * writers queue on the row lock instead of retrying. Called inside an existing transaction, the
+ * mutation joins it and is not retried. Ticket sales update availability in SQL without touching the
+ * version, so only other admin writes count as conflicts, even on an event that is selling fast.
+ */
+@Component
+@Slf4j
+public class EventMutationExecutor {
+
+    public enum LockingStrategy {
+        OPTIMISTIC, PESSIMISTIC
+    }
+
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LockingStrategy strategy;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Counter committed;
+    private final Counter conflicts;
+    private final Counter aborted;
+
+    @Autowired
+    public EventMutationExecutor(EventRepository eventRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${tickethub.events.locking:optimistic}") String strategy,
+                                 @Value("${tickethub.events.mutation.max-attempts:3}") int maxAttempts,
+                                 @Value("${tickethub.events.mutation.retry-backoff:20ms}") Duration retryBackoff,
+                                 MeterRegistry meterRegistry) {
+        this(eventRepository, transactionManager, LockingStrategy.valueOf(strategy.trim().toUpperCase(Locale.ROOT)),
+                maxAttempts, retryBackoff, meterRegistry);
+    }
+
+    public EventMutationExecutor(EventRepository eventRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 LockingStrategy strategy,
+                                 int maxAttempts,
+                                 Duration retryBackoff,
+                                 MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.strategy = strategy;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoff = retryBackoff;
+        this.committed = outcome(meterRegistry, "committed");
+        this.conflicts = outcome(meterRegistry, "conflict");
+        this.aborted = outcome(meterRegistry, "aborted");
+    }
+
+    public LockingStrategy strategy() {
+        return strategy;
+    }
+
+    /**
+     * Loads the event, applies {@code mutation} and commits. The mutation may run more than once,
+     * so it must not have side effects outside the transaction; events it publishes are only
+     * delivered to after-commit listeners for the attempt that commits.
+     */
+    public <T> T mutate(Long eventId, Function<Event, T> mutation) {
+        int attempts = TransactionSynchronizationManager.isActualTransactionActive() ? 1 : maxAttempts;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = transactionTemplate.execute(status -> mutation.apply(load(eventId)));
+                committed.increment();
+                return result;
+            } catch (OptimisticLockingFailureException e) {
+                conflicts.increment();
+                if (attempt >= attempts) {
+                    aborted.increment();
+                    log.warn("Giving up on event {} after {} conflicting attempts", eventId, attempt);
+                    throw new EventConflictException("Event " + eventId + " was modified concurrently, please retry");
+                }
+                log.debug("Event {} changed during attempt {}, retrying", eventId, attempt);
+                backOff(attempt);
+            }
+        }
+    }
+
+    private Event load(Long eventId) {
+        Optional<Event> event = strategy == LockingStrategy.PESSIMISTIC
+                ? eventRepository.findLockedById(eventId)
+                : eventRepository.findById(eventId);
+        return event.orElseThrow(() -> {
+            log.warn("Event not found with id: {}", eventId);
+            return new ResourceNotFoundException("Event not found with id: " + eventId);
+        });
+    }
+
+    // Jitter spreads retries out so colliding writers do not collide again on the next attempt
+    private void backOff(int attempt) {
+        long base = retryBackoff.toNanos() << Math.min(attempt - 1, 10);
+        long nanos = base / 2 + ThreadLocalRandom.current().nextLong(base + 1);
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EventConflictException("Interrupted while retrying event update");
+        }
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("tickethub.events.mutations")
+                .description("Event read-modify-write attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
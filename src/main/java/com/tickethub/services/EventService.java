@@ -1,9 +1,13 @@
 package com.tickethub.services;
 
 import com.tickethub.dto.eventDto.CreateEventRequest;
+import com.tickethub.dto.eventDto.EventCursor;
+import com.tickethub.dto.eventDto.EventFacetsResponse;
 import com.tickethub.dto.eventDto.EventResponse;
 import com.tickethub.dto.eventDto.EventSummaryResponse;
 import com.tickethub.dto.eventDto.UpdateEventRequest;
+import com.tickethub.dto.pageDto.CursorPageResponse;
+import com.tickethub.dto.pageDto.EstimatedPageResponse;
 import com.tickethub.entity.Event;
 import com.tickethub.entity.User;
 import com.tickethub.entity.Venue;
@@ -14,11 +18,21 @@ import com.tickethub.mapper.EventMapper;
 import com.tickethub.repository.EventRepository;
 import com.tickethub.repository.UserRepository;
 import com.tickethub.repository.venueRepository;
+import com.tickethub.search.CityDictionary;
+import com.tickethub.search.EventSearchCriteria;
+import com.tickethub.search.EventSearchIndex;
+import com.tickethub.search.PriceBuckets;
+import com.tickethub.search.SearchResultCache;
 import com.tickethub.specification.EventSpecification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -27,6 +41,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 
 @Service
@@ -38,6 +53,16 @@ public class EventService {
     private final venueRepository venueRepository;
     private final UserRepository userRepository;
     private final EventMapper eventMapper;
+    private final EventSearchIndex searchIndex;
+    private final PriceBuckets priceBuckets;
+    private final SearchResultCache searchResultCache;
+    private final EventDetailCache eventDetailCache;
+    private final CityDictionary cityDictionary;
+    private final EventMutationExecutor mutationExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final Sort KEYSET_SORT = Sort.by("eventDateTime", "id");
+    private static final String RELEVANCE_SORT = "relevance";
 
     @Transactional
     public EventResponse createEvent(CreateEventRequest request) {
@@ -63,28 +88,33 @@ public class EventService {
         event.setAvailableTickets(request.getTotalTickets());
 
         Event savedEvent = eventRepository.save(Objects.requireNonNull(event, "Event cannot be null"));
+        publishChange(savedEvent.getId(), null, savedEvent);
         log.info("Event created successfully: {} by user: {}", savedEvent.getId(), currentUser.getEmail());
         return eventMapper.toResponse(savedEvent);
     }
 
-    @Transactional(readOnly = true)
+    // Read-through: a cached detail is served without a transaction or a query
     public EventResponse getEventById(Long id) {
         Objects.requireNonNull(id, "Id cannot be null");
-        Event event = eventRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.warn("Event not found with id: {}", id);
-                    return new ResourceNotFoundException("Event not found with id: " + id);
-                });
-        return eventMapper.toResponse(event);
+        return eventDetailCache.get(id, key -> {
+            Event event = eventRepository.findWithVenueAndCreatorById(key)
+                    .orElseThrow(() -> {
+                        log.warn("Event not found with id: {}", key);
+                        return new ResourceNotFoundException("Event not found with id: " + key);
+                    });
+            return eventMapper.toResponse(event);
+        });
     }
 
-    @Transactional(readOnly = true)
+    // Cached listing reads are not @Transactional so a cache hit never checks out a connection
     public Page<EventSummaryResponse> getAllPublishedEvents(Pageable pageable) {
-        return eventRepository.findByStatus(EventStatus.PUBLISHED, pageable)
-                .map(eventMapper::toSummaryResponse);
+        Pageable page = withoutRelevanceSort(pageable);
+        EventSearchCriteria criteria = EventSearchCriteria.none();
+        return searchResultCache.get(SearchResultCache.key("page", criteria, page),
+                () -> searchIndex.search(criteria, page)
+                        .orElseGet(() -> eventRepository.findSummaries(EventSpecification.isPublished(), page)));
     }
 
-    @Transactional(readOnly = true)
     public Page<EventSummaryResponse> searchAndFilterEvents(
             String searchQuery,
             EventCategory category,
@@ -98,113 +128,264 @@ public class EventService {
         log.debug("Searching events with filters - query: {}, category: {}, city: {}, startDate: {}, endDate: {}, minPrice: {}, maxPrice: {}",
                 searchQuery, category, city, startDate, endDate, minPrice, maxPrice);
         
-        Specification<Event> spec = EventSpecification.combineSpecifications(
-                searchQuery, category, city, startDate, endDate, minPrice, maxPrice);
-        
-        Page<Event> events = eventRepository.findAll(spec, pageable);
+        EventSearchCriteria criteria = cityDictionary.resolve(EventSearchCriteria.of(
+                searchQuery, category, city, startDate, endDate, minPrice, maxPrice));
+
+        Page<EventSummaryResponse> events;
+        if (isRankedSearch(searchQuery, pageable)) {
+            // Relevance mode: full-text match instead of substring, best matches first
+            Specification<Event> spec = criteria.withoutSearchQuery().toSpecification()
+                    .and(EventSpecification.matchesSearchQuery(searchQuery));
+            Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(RELEVANCE_SORT));
+            events = searchResultCache.get(SearchResultCache.key("page", criteria, page),
+                    () -> eventRepository.findRankedSummaries(spec, searchQuery.trim(), page));
+        } else {
+            Pageable page = withoutRelevanceSort(pageable);
+            events = searchResultCache.get(SearchResultCache.key("page", criteria, page),
+                    () -> searchIndex.search(criteria, page)
+                            .orElseGet(() -> eventRepository.findSummaries(criteria.toSpecification(), page)));
+        }
         
         log.info("Found {} events matching search criteria", events.getTotalElements());
-        return events.map(eventMapper::toSummaryResponse);
+        return events;
     }
 
-    @Transactional
+    /**
+     * Listing without a total: answers only whether another page exists, so infinite-scroll
+     * clients do not pay for a COUNT they never read.
+     */
+    @Transactional(readOnly = true)
+    public Slice<EventSummaryResponse> sliceEvents(
+            String searchQuery,
+            EventCategory category,
+            String city,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Pageable pageable) {
+
+        EventSearchCriteria criteria = cityDictionary.resolve(EventSearchCriteria.of(
+                searchQuery, category, city, startDate, endDate, minPrice, maxPrice));
+        Pageable page = withoutRelevanceSort(pageable);
+        return searchIndex.search(criteria, page)
+                .<Slice<EventSummaryResponse>>map(result -> new SliceImpl<>(result.getContent(), page, result.hasNext()))
+                .orElseGet(() -> eventRepository.findSummarySlice(criteria.toSpecification(), page));
+    }
+
+    /**
+     * Listing page with an approximate total from planner statistics instead of an exact COUNT.
+     */
+    @Transactional(readOnly = true)
+    public EstimatedPageResponse<EventSummaryResponse> searchWithEstimatedTotal(
+            String searchQuery,
+            EventCategory category,
+            String city,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Pageable pageable) {
+
+        EventSearchCriteria criteria = cityDictionary.resolve(EventSearchCriteria.of(
+                searchQuery, category, city, startDate, endDate, minPrice, maxPrice));
+        Pageable page = withoutRelevanceSort(pageable);
+
+        // The in-memory index knows the exact total for free
+        Page<EventSummaryResponse> indexed = searchIndex.search(criteria, page).orElse(null);
+        if (indexed != null) {
+            return toEstimatedPage(indexed.getContent(), page, indexed.hasNext(), indexed.getTotalElements());
+        }
+        Slice<EventSummaryResponse> slice = eventRepository.findSummarySlice(criteria.toSpecification(), page);
+        // Never report fewer rows than the client has already paged through
+        long seen = page.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+        long estimate = Math.max(eventRepository.estimateCount(criteria), seen);
+        return toEstimatedPage(slice.getContent(), page, slice.hasNext(), estimate);
+    }
+
+    /**
+     * Counts for every filter sidebar facet (category, venue city, price bucket) over the events
+     * matching the given filters, computed in a single grouped pass.
+     */
+    public EventFacetsResponse getEventFacets(
+            String searchQuery,
+            EventCategory category,
+            String city,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            BigDecimal minPrice,
+            BigDecimal maxPrice) {
+
+        EventSearchCriteria criteria = cityDictionary.resolve(EventSearchCriteria.of(
+                searchQuery, category, city, startDate, endDate, minPrice, maxPrice));
+        return searchResultCache.get(SearchResultCache.key("facets", criteria),
+                () -> searchIndex.facets(criteria, priceBuckets)
+                        .orElseGet(() -> eventRepository.countFacets(criteria, priceBuckets)));
+    }
+
+    /**
+     * Keyset-paginated listing ordered by (eventDateTime, id). Each page seeks past the cursor
+     * rather than skipping rows, and the total is only counted when the caller asks for it.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<EventSummaryResponse> scrollEvents(
+            String searchQuery,
+            EventCategory category,
+            String city,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            String cursor,
+            int size,
+            boolean includeTotal) {
+
+        Specification<Event> filters = cityDictionary.resolve(EventSearchCriteria.of(
+                searchQuery, category, city, startDate, endDate, minPrice, maxPrice)).toSpecification();
+        EventCursor position = cursor == null || cursor.isBlank() ? null : EventCursor.decode(cursor);
+
+        // Fetch one extra row to learn whether another page exists without counting
+        List<EventSummaryResponse> rows = eventRepository.findSummaryWindow(
+                filters.and(EventSpecification.afterCursor(position)), KEYSET_SORT, size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<EventSummaryResponse> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? EventCursor.of(content.get(content.size() - 1)).encode() : null;
+        Long totalElements = includeTotal ? eventRepository.count(filters) : null;
+
+        return CursorPageResponse.<EventSummaryResponse>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .totalElements(totalElements)
+                .build();
+    }
+
+    // Mutations run through the executor rather than @Transactional: each retry needs a fresh transaction
     public EventResponse updateEvent(Long id, UpdateEventRequest request) {
         Objects.requireNonNull(id, "Id cannot be null");
         Objects.requireNonNull(request, "Request cannot be null");
-        
-        Event event = eventRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.warn("Event not found with id: {}", id);
-                    return new ResourceNotFoundException("Event not found with id: " + id);
-                });
 
-        if (event.getStatus() != EventStatus.DRAFT) {
-            log.warn("Cannot update event {} with status {}", id, event.getStatus());
-            throw new IllegalStateException("Can only update events with DRAFT status");
-        }
+        return mutationExecutor.mutate(id, event -> {
+            if (event.getStatus() != EventStatus.DRAFT) {
+                log.warn("Cannot update event {} with status {}", id, event.getStatus());
+                throw new IllegalStateException("Can only update events with DRAFT status");
+            }
+            EventSummaryResponse previous = eventMapper.toSummaryResponse(event);
 
-        if (request.getVenueId() != null) {
-            Long venueId = Objects.requireNonNull(request.getVenueId(), "Venue ID cannot be null");
-            Venue venue = venueRepository.findById(venueId)
-                    .orElseThrow(() -> {
-                        log.warn("Venue not found with id: {}", venueId);
-                        return new ResourceNotFoundException("Venue not found with id: " + venueId);
-                    });
-            event.setVenue(venue);
-        }
+            if (request.getVenueId() != null) {
+                Long venueId = Objects.requireNonNull(request.getVenueId(), "Venue ID cannot be null");
+                Venue venue = venueRepository.findById(venueId)
+                        .orElseThrow(() -> {
+                            log.warn("Venue not found with id: {}", venueId);
+                            return new ResourceNotFoundException("Venue not found with id: " + venueId);
+                        });
+                event.setVenue(venue);
+            }
 
-        if (request.getTotalTickets() != null) {
-            Venue venue = event.getVenue();
-            if (request.getTotalTickets() > venue.getCapacity()) {
-                log.warn("Total tickets {} exceeds venue capacity {}", request.getTotalTickets(), venue.getCapacity());
-                throw new IllegalArgumentException("Total tickets cannot exceed venue capacity");
+            if (request.getTotalTickets() != null) {
+                Venue venue = event.getVenue();
+                if (request.getTotalTickets() > venue.getCapacity()) {
+                    log.warn("Total tickets {} exceeds venue capacity {}", request.getTotalTickets(), venue.getCapacity());
+                    throw new IllegalArgumentException("Total tickets cannot exceed venue capacity");
+                }
+                int ticketsDifference = request.getTotalTickets() - event.getTotalTickets();
+                event.setAvailableTickets(event.getAvailableTickets() + ticketsDifference);
             }
-            int ticketsDifference = request.getTotalTickets() - event.getTotalTickets();
-            event.setAvailableTickets(event.getAvailableTickets() + ticketsDifference);
-        }
 
-        eventMapper.updateEntity(request, event);
-        Event updatedEvent = eventRepository.save(Objects.requireNonNull(event, "Event cannot be null"));
-        log.info("Event updated successfully: {}", updatedEvent.getId());
-        return eventMapper.toResponse(updatedEvent);
+            eventMapper.updateEntity(request, event);
+            Event updatedEvent = eventRepository.save(Objects.requireNonNull(event, "Event cannot be null"));
+            publishChange(id, previous, updatedEvent);
+            log.info("Event updated successfully: {}", updatedEvent.getId());
+            return eventMapper.toResponse(updatedEvent);
+        });
     }
 
-    @Transactional
     public EventResponse publishEvent(Long id) {
         Objects.requireNonNull(id, "Id cannot be null");
-        Event event = eventRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.warn("Event not found with id: {}", id);
-                    return new ResourceNotFoundException("Event not found with id: " + id);
-                });
 
-        if (event.getStatus() != EventStatus.DRAFT) {
-            log.warn("Cannot publish event {} with status {}", id, event.getStatus());
-            throw new IllegalStateException("Can only publish events with DRAFT status");
-        }
+        return mutationExecutor.mutate(id, event -> {
+            if (event.getStatus() != EventStatus.DRAFT) {
+                log.warn("Cannot publish event {} with status {}", id, event.getStatus());
+                throw new IllegalStateException("Can only publish events with DRAFT status");
+            }
 
-        event.setStatus(EventStatus.PUBLISHED);
-        Event publishedEvent = eventRepository.save(Objects.requireNonNull(event, "Event cannot be null"));
-        log.info("Event published successfully: {}", publishedEvent.getId());
-        return eventMapper.toResponse(publishedEvent);
+            EventSummaryResponse previous = eventMapper.toSummaryResponse(event);
+            event.setStatus(EventStatus.PUBLISHED);
+            Event publishedEvent = eventRepository.save(Objects.requireNonNull(event, "Event cannot be null"));
+            publishChange(id, previous, publishedEvent);
+            log.info("Event published successfully: {}", publishedEvent.getId());
+            return eventMapper.toResponse(publishedEvent);
+        });
     }
 
-    @Transactional
     public EventResponse cancelEvent(Long id) {
         Objects.requireNonNull(id, "Id cannot be null");
-        Event event = eventRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.warn("Event not found with id: {}", id);
-                    return new ResourceNotFoundException("Event not found with id: " + id);
-                });
 
-        if (event.getStatus() == EventStatus.CANCELLED || event.getStatus() == EventStatus.COMPLETED) {
-            log.warn("Cannot cancel event {} with status {}", id, event.getStatus());
-            throw new IllegalStateException("Event is already " + event.getStatus());
-        }
+        return mutationExecutor.mutate(id, event -> {
+            if (event.getStatus() == EventStatus.CANCELLED || event.getStatus() == EventStatus.COMPLETED) {
+                log.warn("Cannot cancel event {} with status {}", id, event.getStatus());
+                throw new IllegalStateException("Event is already " + event.getStatus());
+            }
 
-        event.setStatus(EventStatus.CANCELLED);
-        Event cancelledEvent = eventRepository.save(Objects.requireNonNull(event, "Event cannot be null"));
-        log.info("Event cancelled successfully: {}", cancelledEvent.getId());
-        return eventMapper.toResponse(cancelledEvent);
+            EventSummaryResponse previous = eventMapper.toSummaryResponse(event);
+            event.setStatus(EventStatus.CANCELLED);
+            Event cancelledEvent = eventRepository.save(Objects.requireNonNull(event, "Event cannot be null"));
+            publishChange(id, previous, cancelledEvent);
+            log.info("Event cancelled successfully: {}", cancelledEvent.getId());
+            return eventMapper.toResponse(cancelledEvent);
+        });
     }
 
-    @Transactional
     public void deleteEvent(Long id) {
         Objects.requireNonNull(id, "Id cannot be null");
-        Event event = eventRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.warn("Event not found with id: {}", id);
-                    return new ResourceNotFoundException("Event not found with id: " + id);
-                });
 
-        if (event.getStatus() != EventStatus.DRAFT) {
-            log.warn("Cannot delete event {} with status {}", id, event.getStatus());
-            throw new IllegalStateException("Can only delete events with DRAFT status");
-        }
+        mutationExecutor.mutate(id, event -> {
+            if (event.getStatus() != EventStatus.DRAFT) {
+                log.warn("Cannot delete event {} with status {}", id, event.getStatus());
+                throw new IllegalStateException("Can only delete events with DRAFT status");
+            }
+
+            EventSummaryResponse previous = eventMapper.toSummaryResponse(event);
+            eventRepository.delete(event);
+            publishChange(id, previous, null);
+            log.info("Event deleted successfully: {}", id);
+            return null;
+        });
+    }
+
+    private EstimatedPageResponse<EventSummaryResponse> toEstimatedPage(
+            List<EventSummaryResponse> content, Pageable page, boolean hasNext, long estimatedTotal) {
+        return EstimatedPageResponse.<EventSummaryResponse>builder()
+                .content(content)
+                .page(page.getPageNumber())
+                .size(page.getPageSize())
+                .hasNext(hasNext)
+                .estimatedTotal(estimatedTotal)
+                .build();
+    }
+
+    // Listeners (search index, caches) apply the change only after this transaction commits
+    private void publishChange(Long id, EventSummaryResponse previous, Event current) {
+        eventPublisher.publishEvent(new EventChangedEvent(id, previous, eventMapper.toSummaryResponse(current)));
+    }
 
-        eventRepository.deleteById(id);
-        log.info("Event deleted successfully: {}", id);
+    private boolean isRankedSearch(String searchQuery, Pageable pageable) {
+        return searchQuery != null && !searchQuery.isBlank()
+                && pageable.getSort().getOrderFor(RELEVANCE_SORT) != null;
+    }
+
+    // "relevance" is not an entity attribute; without a search query it falls back to the default order
+    private Pageable withoutRelevanceSort(Pageable pageable) {
+        if (pageable.getSort().getOrderFor(RELEVANCE_SORT) == null) {
+            return pageable;
+        }
+        Sort sort = Sort.by(pageable.getSort().stream()
+                .filter(order -> !RELEVANCE_SORT.equals(order.getProperty()))
+                .toList());
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                sort.isSorted() ? sort : Sort.by("eventDateTime"));
     }
 
     private User getCurrentUser() {
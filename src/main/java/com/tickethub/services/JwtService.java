@@ -1,6 +1,8 @@
 package com.tickethub.services;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,23 +10,46 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies the HMAC-signed access tokens. The signing key and the parser are immutable
+ * and thread-safe, so both are built once here rather than per call; {@link #verify} then checks
+ * the signature and expiry and decodes the claims in a single pass. Every token gets a random
+ * {@code jti} so it can be revoked on its own.
+ */
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    static final String VERSION_CLAIM = "ver";
 
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long expiration;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    public JwtService(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.expiration}") long expiration) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.expiration = expiration;
+    }
+
+    /**
+     * Verifies the token and decodes its claims, or returns empty if it is malformed, badly signed
+     * or expired. This is the only place a token gets parsed.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        try {
+            return Optional.of(VerifiedToken.from(extractAllClaims(token)));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
     public String extractUsername(String token) {
@@ -41,15 +66,7 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -75,27 +92,34 @@ public class JwtService {
         return createToken(claims, username);
     }
 
+    public String generateToken(String username, String role, Long userId, int tokenVersion) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("role", role);
+        claims.put("userId", userId);
+        claims.put(VERSION_CLAIM, tokenVersion);
+        return createToken(claims, username);
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
+                .signWith(signingKey)
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        // The parser rejects expired tokens itself, so a successful verify is also the expiry check
+        return verify(token)
+                .map(verified -> verified.subject() != null && verified.subject().equals(userDetails.getUsername()))
+                .orElse(false);
     }
 
     public Boolean validateToken(String token) {
-        try {
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
+        return verify(token).isPresent();
     }
 }
-
@@ -0,0 +1,106 @@
+package com.tickethub.services;
+
+import com.tickethub.exception.ServiceBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing on its own small pool of platform threads. Request handling runs on
+ * virtual threads, which share one carrier per CPU; a BCrypt hash is tens of milliseconds of pure
+ * CPU, so a login storm hashing on request threads would occupy every carrier and stall all other
+ * traffic. Here at most {@code threads} hashes run at once and at most {@code queue-capacity} wait;
+ * beyond that callers fail fast with a {@link ServiceBusyException} (503) instead of queueing.
+ * <p>
+ * Time spent hashing is recorded per operation as {@code tickethub.security.password.hash}, and
+ * the pool's active and queued counts as {@code executor.*{name="password-hashing"}}.
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Value("${tickethub.security.password-hashing.threads:0}") int threads,
+                          @Value("${tickethub.security.password-hashing.queue-capacity:64}") int queueCapacity,
+                          MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        // Half the CPUs by default, so hashing never takes every core from request handling
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger workerIds = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread worker = new Thread(task, "password-hashing-" + workerIds.incrementAndGet());
+                    worker.setDaemon(true);
+                    return worker;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hashing");
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchTimer = hashTimer(meterRegistry, "matches");
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("tickethub.security.password.hash")
+                .description("Time spent computing a password hash on the hashing pool")
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encodeTimer.recordCallable(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> matchTimer.recordCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /** Whether the hash was made at a lower cost than the encoder's current one. Cheap; runs inline. */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> hashing) {
+        Future<T> result;
+        try {
+            result = executor.submit(hashing);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceBusyException("Too many sign-ins in progress, please retry shortly");
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
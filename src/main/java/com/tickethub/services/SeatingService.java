@@ -0,0 +1,258 @@
+package com.tickethub.services;
+
+import com.tickethub.dto.seatingDto.CreateRowRequest;
+import com.tickethub.dto.seatingDto.CreateSectionRequest;
+import com.tickethub.dto.seatingDto.SeatSelectionResponse;
+import com.tickethub.dto.seatingDto.SectionResponse;
+import com.tickethub.entity.Event;
+import com.tickethub.entity.Venue;
+import com.tickethub.entity.VenueRow;
+import com.tickethub.entity.VenueSection;
+import com.tickethub.exception.EventConflictException;
+import com.tickethub.exception.InsufficientTicketsException;
+import com.tickethub.exception.ResourceNotFoundException;
+import com.tickethub.inventory.TicketInventory;
+import com.tickethub.repository.EventRepository;
+import com.tickethub.repository.SeatMapRepository;
+import com.tickethub.repository.VenueSectionRepository;
+import com.tickethub.repository.venueRepository;
+import com.tickethub.seating.SeatBitmap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.IntStream;
+
+/**
+ * Reserved seating. Each event's seat availability is held in memory as one {@link SeatBitmap} per
+ * section, loaded lazily from {@code event_seat_maps} (or from the venue layout for an event with no
+ * sales yet) and cached; reservations flip bits in memory, persist only the changed bits, and take the
+ * same number of tickets from the {@link TicketInventory} so general availability stays consistent.
+ * Seats taken by a transaction that rolls back are handed back to the cached map. The stored map has
+ * the final say: if a seat picked from a stale cache (or on another instance) is already taken there,
+ * the reservation fails with a conflict and the cached map is reloaded.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatingService {
+
+    private final VenueSectionRepository sectionRepository;
+    private final venueRepository venueRepository;
+    private final EventRepository eventRepository;
+    private final SeatMapRepository seatMapRepository;
+    private final TicketInventory ticketInventory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentMap<Long, EventSeating> seatingByEvent = new ConcurrentHashMap<>();
+
+    @Transactional
+    public SectionResponse addSection(Long venueId, CreateSectionRequest request) {
+        Objects.requireNonNull(venueId, "Venue ID cannot be null");
+        Venue venue = venueRepository.findById(venueId)
+                .orElseThrow(() -> new ResourceNotFoundException("Venue not found with id: " + venueId));
+
+        int seats = request.getRows().stream().mapToInt(CreateRowRequest::getSeatCount).sum();
+        if (sectionRepository.countSeatsByVenueId(venueId) + seats > venue.getCapacity()) {
+            throw new IllegalArgumentException("Total seats cannot exceed venue capacity");
+        }
+
+        VenueSection section = VenueSection.builder()
+                .venue(venue)
+                .name(request.getName())
+                .rank(request.getRank())
+                .build();
+        for (int i = 0; i < request.getRows().size(); i++) {
+            CreateRowRequest row = request.getRows().get(i);
+            section.getRows().add(VenueRow.builder()
+                    .section(section)
+                    .label(row.getLabel())
+                    .rowOrder(i)
+                    .seatCount(row.getSeatCount())
+                    .build());
+        }
+        VenueSection saved = sectionRepository.save(section);
+        eventPublisher.publishEvent(new VenueChangedEvent(venueId));
+        log.info("Section {} with {} seats added to venue {}", saved.getId(), seats, venueId);
+        return toResponse(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SectionResponse> getSections(Long venueId) {
+        Objects.requireNonNull(venueId, "Venue ID cannot be null");
+        if (!venueRepository.existsById(venueId)) {
+            throw new ResourceNotFoundException("Venue not found with id: " + venueId);
+        }
+        return sectionRepository.findByVenueIdOrderByRankAscIdAsc(venueId).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    /** Best-available preview; nothing is reserved. */
+    @Transactional(readOnly = true)
+    public SeatSelectionResponse findBestAvailable(Long eventId, int quantity) {
+        EventSeating seating = seating(eventId);
+        synchronized (seating) {
+            SeatSelection selection = seating.findBestAvailable(quantity);
+            if (selection == null) {
+                throw noAdjacentSeats(eventId, quantity);
+            }
+            return toResponse(eventId, selection, null);
+        }
+    }
+
+    /**
+     * Reserves the best {@code quantity} adjacent seats: sections in rank order, rows front to back,
+     * closest to the middle of the row.
+     */
+    @Transactional
+    public SeatSelectionResponse reserveBestAvailable(Long eventId, int quantity, String userEmail) {
+        EventSeating seating = seating(eventId);
+        SeatSelection selection;
+        synchronized (seating) {
+            selection = seating.findBestAvailable(quantity);
+            if (selection == null) {
+                throw noAdjacentSeats(eventId, quantity);
+            }
+            selection.section().bitmap().take(selection.row(), selection.firstSeat(), quantity);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    synchronized (seating) {
+                        selection.section().bitmap().release(selection.row(), selection.firstSeat(), quantity);
+                    }
+                }
+            }
+        });
+
+        int remaining = ticketInventory.reserveOrThrow(eventId, quantity);
+        SectionSeats section = selection.section();
+        int[] bits = IntStream.range(0, quantity)
+                .map(i -> section.bitmap().bitOf(selection.row(), selection.firstSeat() + i))
+                .toArray();
+        if (!seatMapRepository.takeSeats(eventId, section.sectionId(), bits,
+                SeatBitmap.allAvailable(section.rowSeats()).toBytes(), LocalDateTime.now())) {
+            // The cached map missed a sale; drop it so the retry picks from the stored seats
+            seatingByEvent.remove(eventId, seating);
+            log.warn("Seats in section {} row {} for event {} were already taken, reloading the seat map",
+                    section.name(), section.rowLabels().get(selection.row()), eventId);
+            throw new EventConflictException("Those seats were just taken for event " + eventId + ", please retry");
+        }
+
+        eventPublisher.publishEvent(new TicketInventoryChangedEvent(eventId, remaining));
+        log.info("Reserved {} seats in section {} row {} for event {} by user {}",
+                quantity, section.name(), section.rowLabels().get(selection.row()), eventId, userEmail);
+        return toResponse(eventId, selection, remaining);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        seatingByEvent.remove(change.getEventId());
+    }
+
+    @TransactionalEventListener
+    public void onVenueChanged(VenueChangedEvent change) {
+        seatingByEvent.values().removeIf(seating -> seating.venueId().equals(change.getVenueId()));
+    }
+
+    private EventSeating seating(Long eventId) {
+        Objects.requireNonNull(eventId, "Event ID cannot be null");
+        EventSeating cached = seatingByEvent.get(eventId);
+        if (cached != null) {
+            return cached;
+        }
+        // Loaded outside the map so a slow load does not block other events; the first one stored wins
+        EventSeating loaded = load(eventId);
+        EventSeating raced = seatingByEvent.putIfAbsent(eventId, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    private EventSeating load(Long eventId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+        Long venueId = event.getVenue().getId();
+        List<VenueSection> sections = sectionRepository.findByVenueIdOrderByRankAscIdAsc(venueId);
+        if (sections.isEmpty()) {
+            throw new ResourceNotFoundException("Event " + eventId + " does not have reserved seating");
+        }
+
+        Map<Long, byte[]> stored = seatMapRepository.findByEventId(eventId);
+        List<SectionSeats> sectionSeats = new ArrayList<>(sections.size());
+        for (VenueSection section : sections) {
+            int[] rowSeats = section.getRows().stream().mapToInt(VenueRow::getSeatCount).toArray();
+            List<String> rowLabels = section.getRows().stream().map(VenueRow::getLabel).toList();
+            byte[] bytes = stored.get(section.getId());
+            SeatBitmap bitmap = bytes != null ? SeatBitmap.fromBytes(rowSeats, bytes) : SeatBitmap.allAvailable(rowSeats);
+            sectionSeats.add(new SectionSeats(section.getId(), section.getName(), rowLabels, rowSeats, bitmap));
+        }
+        return new EventSeating(venueId, sectionSeats);
+    }
+
+    private SectionResponse toResponse(VenueSection section) {
+        return SectionResponse.builder()
+                .id(section.getId())
+                .venueId(section.getVenue().getId())
+                .name(section.getName())
+                .rank(section.getRank())
+                .rowCount(section.getRows().size())
+                .seatCount(section.getRows().stream().mapToInt(VenueRow::getSeatCount).sum())
+                .build();
+    }
+
+    private SeatSelectionResponse toResponse(Long eventId, SeatSelection selection, Integer remaining) {
+        return SeatSelectionResponse.builder()
+                .eventId(eventId)
+                .sectionId(selection.section().sectionId())
+                .sectionName(selection.section().name())
+                .rowLabel(selection.section().rowLabels().get(selection.row()))
+                .seatNumbers(IntStream.rangeClosed(1, selection.quantity())
+                        .mapToObj(i -> selection.firstSeat() + i)
+                        .toList())
+                .remainingTickets(remaining)
+                .build();
+    }
+
+    private static InsufficientTicketsException noAdjacentSeats(Long eventId, int quantity) {
+        return new InsufficientTicketsException("No " + quantity + " adjacent seats left for event " + eventId);
+    }
+
+    private record SectionSeats(Long sectionId, String name, List<String> rowLabels, int[] rowSeats, SeatBitmap bitmap) {
+    }
+
+    private record SeatSelection(SectionSeats section, int row, int firstSeat, int quantity) {
+    }
+
+    // Instances are the monitor guarding their bitmaps
+    private record EventSeating(Long venueId, List<SectionSeats> sections) {
+
+        SeatSelection findBestAvailable(int quantity) {
+            for (SectionSeats section : sections) {
+                SeatBitmap bitmap = section.bitmap();
+                for (int row = 0; row < bitmap.rows(); row++) {
+                    if (bitmap.seatsInRow(row) < quantity) {
+                        continue;
+                    }
+                    int seat = bitmap.findBestInRow(row, quantity);
+                    if (seat >= 0) {
+                        return new SeatSelection(section, row, seat, quantity);
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.tickethub.services;
+
+import com.tickethub.dto.bookingDto.HoldResponse;
+import com.tickethub.entity.TicketHold;
+import com.tickethub.entity.User;
+import com.tickethub.enums.HoldStatus;
+import com.tickethub.exception.HoldNotActiveException;
+import com.tickethub.exception.ResourceNotFoundException;
+import com.tickethub.inventory.HierarchicalTimingWheel;
+import com.tickethub.inventory.TicketInventory;
+import com.tickethub.repository.EventRepository;
+import com.tickethub.repository.HoldExpirationView;
+import com.tickethub.repository.TicketHoldRepository;
+import com.tickethub.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Checkout holds: tickets leave the inventory when a hold is placed and come back when it is released
+ * or expires. Expiry is driven by an in-memory {@link HierarchicalTimingWheel} keyed by hold id, so no
+ * timer per hold and no table scan; due holds are expired in batches, returning tickets with one
+ * update per event. The wheel is rebuilt from ACTIVE holds on startup, which also expires anything
+ * that came due while the application was down.
+ */
+@Service
+@Slf4j
+public class TicketHoldService {
+
+    private final TicketHoldRepository holdRepository;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final TicketInventory ticketInventory;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration holdTtl;
+    private final int expiryBatchSize;
+
+    private final Object wheelLock = new Object();
+    private final HierarchicalTimingWheel<Long> expiryWheel;
+    // Holds already due when scheduled, or whose expiry failed and must be retried
+    private final List<Long> overdue = new ArrayList<>();
+
+    public TicketHoldService(TicketHoldRepository holdRepository,
+                             EventRepository eventRepository,
+                             UserRepository userRepository,
+                             TicketInventory ticketInventory,
+                             TransactionTemplate transactionTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${tickethub.holds.ttl:10m}") Duration holdTtl,
+                             @Value("${tickethub.holds.tick-ms:1000}") long tickMs,
+                             @Value("${tickethub.holds.wheel-size:64}") int wheelSize,
+                             @Value("${tickethub.holds.expiry-batch-size:500}") int expiryBatchSize) {
+        this.holdRepository = holdRepository;
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.ticketInventory = ticketInventory;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.holdTtl = holdTtl;
+        this.expiryBatchSize = expiryBatchSize;
+        this.expiryWheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildExpiryWheel() {
+        List<HoldExpirationView> active = holdRepository.findExpirationsByStatus(HoldStatus.ACTIVE);
+        active.forEach(hold -> schedule(hold.getId(), hold.getExpiresAt()));
+        log.info("Scheduled expiry for {} active ticket holds", active.size());
+    }
+
+    @Transactional
+    public HoldResponse placeHold(Long eventId, int quantity, String userEmail) {
+        Objects.requireNonNull(eventId, "Event ID cannot be null");
+        User user = findUser(userEmail);
+
+        int remaining = ticketInventory.reserveOrThrow(eventId, quantity);
+        TicketHold hold = holdRepository.save(TicketHold.builder()
+                .event(eventRepository.getReferenceById(eventId))
+                .user(user)
+                .quantity(quantity)
+                .expiresAt(LocalDateTime.now().plus(holdTtl))
+                .build());
+        // Scheduled before commit; if the insert rolls back the expiry finds no ACTIVE row and does nothing
+        schedule(hold.getId(), hold.getExpiresAt());
+
+        eventPublisher.publishEvent(new TicketInventoryChangedEvent(eventId, remaining));
+        log.info("Hold {} placed on {} tickets for event {} by user {}", hold.getId(), quantity, eventId, userEmail);
+        return toResponse(hold, eventId, HoldStatus.ACTIVE);
+    }
+
+    @Transactional
+    public HoldResponse confirmHold(Long eventId, Long holdId, String userEmail) {
+        TicketHold hold = findOwnedHold(eventId, holdId, userEmail);
+        if (holdRepository.transitionActive(holdId, HoldStatus.CONFIRMED, LocalDateTime.now()) == 0) {
+            throw new HoldNotActiveException("Hold " + holdId + " is no longer active");
+        }
+        log.info("Hold {} confirmed for event {} by user {}", holdId, eventId, userEmail);
+        return toResponse(hold, eventId, HoldStatus.CONFIRMED);
+    }
+
+    @Transactional
+    public void releaseHold(Long eventId, Long holdId, String userEmail) {
+        TicketHold hold = findOwnedHold(eventId, holdId, userEmail);
+        if (holdRepository.transitionActive(holdId, HoldStatus.RELEASED, LocalDateTime.now()) == 0) {
+            throw new HoldNotActiveException("Hold " + holdId + " is no longer active");
+        }
+        ticketInventory.release(eventId, hold.getQuantity())
+                .ifPresent(available -> eventPublisher.publishEvent(new TicketInventoryChangedEvent(eventId, available)));
+        log.info("Hold {} released for event {} by user {}", holdId, eventId, userEmail);
+    }
+
+    @Scheduled(fixedDelayString = "${tickethub.holds.tick-ms:1000}")
+    public void expireDueHolds() {
+        List<Long> due;
+        synchronized (wheelLock) {
+            due = new ArrayList<>(overdue);
+            overdue.clear();
+            expiryWheel.advance(System.currentTimeMillis(), due::add);
+        }
+
+        for (int from = 0; from < due.size(); from += expiryBatchSize) {
+            List<Long> batch = due.subList(from, Math.min(from + expiryBatchSize, due.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> expire(batch));
+            } catch (RuntimeException e) {
+                log.error("Expiring {} ticket holds failed, will retry", batch.size(), e);
+                synchronized (wheelLock) {
+                    overdue.addAll(batch);
+                }
+            }
+        }
+    }
+
+    private void expire(List<Long> holdIds) {
+        // Holds confirmed or released in the meantime are skipped by the conditional update
+        Map<Long, Integer> released = holdRepository.expireHolds(holdIds, LocalDateTime.now());
+        released.forEach((eventId, quantity) -> ticketInventory.release(eventId, quantity)
+                .ifPresent(available -> eventPublisher.publishEvent(new TicketInventoryChangedEvent(eventId, available))));
+        if (!released.isEmpty()) {
+            log.info("Expired ticket holds returned tickets to {} events", released.size());
+        }
+    }
+
+    private void schedule(Long holdId, LocalDateTime expiresAt) {
+        long expirationMs = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        synchronized (wheelLock) {
+            if (!expiryWheel.schedule(holdId, expirationMs)) {
+                overdue.add(holdId);
+            }
+        }
+    }
+
+    private TicketHold findOwnedHold(Long eventId, Long holdId, String userEmail) {
+        Objects.requireNonNull(holdId, "Hold ID cannot be null");
+        User user = findUser(userEmail);
+        return holdRepository.findById(holdId)
+                .filter(hold -> hold.getEvent().getId().equals(eventId))
+                .filter(hold -> hold.getUser().getId().equals(user.getId()))
+                .orElseThrow(() -> {
+                    log.warn("Hold {} not found for event {} and user {}", holdId, eventId, userEmail);
+                    return new ResourceNotFoundException("Hold not found with id: " + holdId);
+                });
+    }
+
+    private User findUser(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> {
+                    log.error("User not found with email: {}", email);
+                    return new ResourceNotFoundException("User not found with email: " + email);
+                });
+    }
+
+    private static HoldResponse toResponse(TicketHold hold, Long eventId, HoldStatus status) {
+        return HoldResponse.builder()
+                .id(hold.getId())
+                .eventId(eventId)
+                .quantity(hold.getQuantity())
+                .status(status)
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.tickethub.services;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when tickets are taken from or returned to an event without any other change to it,
+ * carrying the new availability so listeners can patch their copy instead of reloading the event.
+ * Bookings publish it outside any transaction, once the reservation has committed, so listeners
+ * must also run without one.
+ */
+@Getter
+@AllArgsConstructor
+public class TicketInventoryChangedEvent {
+    private final Long eventId;
+    private final int availableTickets;
+}
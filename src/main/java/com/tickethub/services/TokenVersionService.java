@@ -0,0 +1,110 @@
+package com.tickethub.services;
+
+import com.tickethub.repository.TokenVersionRepository;
+import com.tickethub.repository.TokenVersionRepository.TokenVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory copy of the {@code user_token_versions} table, so checking a token's {@code ver} claim
+ * costs a map lookup instead of a query. A token is current while its version is at least the
+ * user's; {@link #invalidate} bumps the version, which retires every token issued before.
+ * <p>
+ * Loaded at startup and refreshed periodically with the rows changed since the last refresh, so a
+ * bump made on another instance takes effect here within one refresh interval. Versions only grow,
+ * which makes applying the same row twice harmless; each refresh therefore looks back a little past
+ * its watermark to pick up rows committed late by transactions that started before it. Until the
+ * first load completes, checks go to the table directly.
+ */
+@Service
+@Slf4j
+public class TokenVersionService {
+
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final TokenVersionRepository tokenVersionRepository;
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile boolean loaded;
+    private LocalDateTime watermark = EPOCH;
+
+    public TokenVersionService(TokenVersionRepository tokenVersionRepository) {
+        this.tokenVersionRepository = tokenVersionRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+        log.info("Loaded token versions for {} users", versions.size());
+    }
+
+    @Scheduled(fixedDelayString = "${tickethub.security.token-versions.refresh-interval-ms:5000}",
+            initialDelayString = "${tickethub.security.token-versions.refresh-interval-ms:5000}")
+    public void refresh() {
+        // Not synchronized: the query would pin a virtual scheduler thread to its carrier
+        refreshLock.lock();
+        try {
+            LocalDateTime since = watermark == EPOCH ? EPOCH : watermark.minus(REFRESH_OVERLAP);
+            List<TokenVersion> changed = tokenVersionRepository.findUpdatedSince(since);
+            for (TokenVersion row : changed) {
+                versions.merge(row.userId(), row.version(), Math::max);
+                if (row.updatedAt().isAfter(watermark)) {
+                    watermark = row.updatedAt();
+                }
+            }
+            loaded = true;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public boolean isCurrent(long userId, int tokenVersion) {
+        return tokenVersion >= currentVersion(userId);
+    }
+
+    /** The version to put in a newly issued token, read from the table so it is never stale. */
+    public int issueVersion(long userId) {
+        int version = tokenVersionRepository.findVersion(userId);
+        versions.merge(userId, version, Math::max);
+        return version;
+    }
+
+    /**
+     * Retires every token issued to the user so far. Joins the caller's transaction; the local copy
+     * is only updated once it commits.
+     */
+    public void invalidate(long userId) {
+        int version = tokenVersionRepository.increment(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.merge(userId, version, Math::max);
+                }
+            });
+        } else {
+            versions.merge(userId, version, Math::max);
+        }
+        log.info("Token version for user {} bumped to {}", userId, version);
+    }
+
+    private int currentVersion(long userId) {
+        if (!loaded) {
+            return tokenVersionRepository.findVersion(userId);
+        }
+        return versions.getOrDefault(userId, 0);
+    }
+}
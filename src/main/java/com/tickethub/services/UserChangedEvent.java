@@ -0,0 +1,14 @@
+package com.tickethub.services;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by {@link UserService} when a user's role or password changes, so copies of the user
+ * held for authentication can be dropped after commit.
+ */
+@Getter
+@AllArgsConstructor
+public class UserChangedEvent {
+    private final String email;
+}
@@ -7,14 +7,19 @@ import com.tickethub.entity.User;
 import com.tickethub.enums.Roles;
 import com.tickethub.exception.EmailAlreadyExistsException;
 import com.tickethub.exception.InvalidCredentialsException;
+import com.tickethub.exception.ResourceNotFoundException;
+import com.tickethub.exception.ServiceBusyException;
 import com.tickethub.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -22,48 +27,52 @@ import java.time.LocalDateTime;
 public class UserService {
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final TokenVersionService tokenVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
     
-    @Transactional
     public UserResponseDTO registerUser(RegisterRequestDTO request) {
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new EmailAlreadyExistsException("Email is already registered: " + request.getEmail());
-        }
-
-        String hashedPassword = passwordEncoder.encode(request.getPassword());
-        User newUser = new User(
+        User savedUser = register(request, hashedPassword -> new User(
             request.getEmail(),
             hashedPassword,
             request.getUsername()
-        );
-        
-        User savedUser = userRepository.save(newUser);
+        ));
         log.info("User registered successfully: {}", savedUser.getEmail());
         return convertToDTO(savedUser);
     }
 
-    @Transactional
     public UserResponseDTO registerAdminUser(RegisterRequestDTO request) {
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new EmailAlreadyExistsException("Email is already registered: " + request.getEmail());
-        }
-
-        String hashedPassword = passwordEncoder.encode(request.getPassword());
-        User newUser = new User(
+        User savedUser = register(request, hashedPassword -> new User(
             null,
             request.getEmail(),
             hashedPassword,
             Roles.ADMIN,
             request.getUsername(),
             LocalDateTime.now()
-        );
-        
-        User savedUser = userRepository.save(newUser);
+        ));
         log.info("Admin user registered successfully: {}", savedUser.getEmail());
         return convertToDTO(savedUser);
     }
-    
-    @Transactional(readOnly = true)
+
+    // Hashing can queue for the hashing pool, so like login it runs before any transaction is open;
+    // only the insert holds a connection. The early check spares the hash for a known email, and
+    // the unique constraint catches a registration that raced in between
+    private User register(RegisterRequestDTO request, Function<String, User> newUser) {
+        if (userRepository.existsByEmail(request.getEmail())) {
+            throw new EmailAlreadyExistsException("Email is already registered: " + request.getEmail());
+        }
+
+        User user = newUser.apply(passwordHasher.encode(request.getPassword()));
+        try {
+            return transactionTemplate.execute(status -> userRepository.save(user));
+        } catch (DataIntegrityViolationException e) {
+            throw new EmailAlreadyExistsException("Email is already registered: " + request.getEmail());
+        }
+    }
+
+    // Not transactional: the hash check can queue for the hashing pool, and must not hold a connection
+    // while it waits. The lookup and the hash upgrade each commit on their own
     public UserResponseDTO loginUser(LoginRequestDTO request) {
         User user = userRepository.findByEmail(request.getEmail())
             .orElseThrow(() -> {
@@ -71,15 +80,56 @@ public class UserService {
                 return new InvalidCredentialsException("Invalid email or password");
             });
         
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(request.getPassword(), user.getPassword())) {
             log.warn("Login attempt with invalid password for email: {}", request.getEmail());
             throw new InvalidCredentialsException("Invalid email or password");
         }
+
+        if (passwordHasher.upgradeEncoding(user.getPassword())) {
+            upgradePasswordHash(user, request.getPassword());
+        }
         
         log.info("User logged in successfully: {}", user.getEmail());
         return convertToDTO(user);
     }
+
+    // The plain password is only available at login, so that is when an old hash gets redone at the
+    // current cost. Best effort: a busy hashing pool leaves the old hash for the next login
+    private void upgradePasswordHash(User user, String rawPassword) {
+        String upgraded;
+        try {
+            upgraded = passwordHasher.encode(rawPassword);
+        } catch (ServiceBusyException e) {
+            log.debug("Hashing pool busy, password hash upgrade for {} deferred", user.getEmail());
+            return;
+        }
+        boolean replaced = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (userRepository.replacePasswordHash(user.getId(), user.getPassword(), upgraded) == 0) {
+                return false;
+            }
+            eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
+            return true;
+        }));
+        if (replaced) {
+            log.info("Password hash upgraded for user {}", user.getEmail());
+        }
+    }
     
+    @Transactional
+    public UserResponseDTO changeRole(Long userId, Roles role) {
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+
+        if (user.getRole() != role) {
+            user.setRole(role);
+            // Tokens carry the role, so the ones issued under the old role have to go
+            tokenVersionService.invalidate(userId);
+            eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
+            log.info("Role of user {} changed to {}", user.getEmail(), role);
+        }
+        return convertToDTO(user);
+    }
+
     private UserResponseDTO convertToDTO(User user) {
         UserResponseDTO dto = new UserResponseDTO();
         dto.setId(user.getId());
@@ -0,0 +1,14 @@
+package com.tickethub.services;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by {@link VenueService} when a venue is created, updated or deleted,
+ * so structures holding venue names or cities can refresh after commit.
+ */
+@Getter
+@AllArgsConstructor
+public class VenueChangedEvent {
+    private final Long venueId;
+}
@@ -1,5 +1,6 @@
 package com.tickethub.services;
 
+import com.tickethub.dto.venueDto.CitySuggestionResponse;
 import com.tickethub.dto.venueDto.CreateVenueRequest;
 import com.tickethub.dto.venueDto.UpdateVenueRequest;
 import com.tickethub.dto.venueDto.VenueResponse;
@@ -7,8 +8,10 @@ import com.tickethub.entity.Venue;
 import com.tickethub.exception.ResourceNotFoundException;
 import com.tickethub.mapper.VenueMapper;
 import com.tickethub.repository.venueRepository;
+import com.tickethub.search.CityDictionary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,14 +24,19 @@ import java.util.stream.Collectors;
 @Slf4j
 public class VenueService {
     
+    private static final int MAX_CITY_SUGGESTIONS = 25;
+
     private final venueRepository venueRepository;
     private final VenueMapper venueMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CityDictionary cityDictionary;
 
     @Transactional
     public VenueResponse createVenue(CreateVenueRequest request) {
         Objects.requireNonNull(request, "Request cannot be null");
         Venue venue = venueMapper.toEntity(request);
         Venue savedVenue = venueRepository.save(Objects.requireNonNull(venue, "Venue cannot be null"));
+        eventPublisher.publishEvent(new VenueChangedEvent(savedVenue.getId()));
         log.info("Venue created successfully: {}", savedVenue.getId());
         return venueMapper.toResponse(savedVenue);
     }
@@ -41,6 +49,11 @@ public class VenueService {
                 .collect(Collectors.toList());
     }
 
+    public List<CitySuggestionResponse> suggestCities(String prefix, int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_CITY_SUGGESTIONS));
+        return cityDictionary.autocomplete(prefix, boundedLimit);
+    }
+
     @Transactional(readOnly = true)
     public VenueResponse getVenueById(Long id) {
         Objects.requireNonNull(id, "Id cannot be null");
@@ -64,6 +77,7 @@ public class VenueService {
         
         venueMapper.updateEntity(request, venue);
         Venue updatedVenue = venueRepository.save(Objects.requireNonNull(venue, "Venue cannot be null"));
+        eventPublisher.publishEvent(new VenueChangedEvent(id));
         log.info("Venue updated successfully: {}", updatedVenue.getId());
         return venueMapper.toResponse(updatedVenue);
     }
@@ -76,6 +90,7 @@ public class VenueService {
             throw new ResourceNotFoundException("Venue not found with id: " + id);
         }
         venueRepository.deleteById(id);
+        eventPublisher.publishEvent(new VenueChangedEvent(id));
         log.info("Venue deleted successfully: {}", id);
     }
 }
@@ -0,0 +1,35 @@
+package com.tickethub.services;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+/**
+ * The claims of a token whose signature and expiry {@link JwtService#verify} has already checked.
+ * Decoded once per request and kept as a request attribute, so later filters and handlers can read
+ * the subject, role or user id without parsing the token again.
+ */
+public record VerifiedToken(String tokenId, String subject, String role, Long userId, int version,
+                            Instant issuedAt, Instant expiresAt) {
+
+    public static final String REQUEST_ATTRIBUTE = VerifiedToken.class.getName();
+
+    static VerifiedToken from(Claims claims) {
+        Number userId = claims.get("userId", Number.class);
+        // Tokens issued before versioning carry no "ver" and count as version 0
+        Number version = claims.get(JwtService.VERSION_CLAIM, Number.class);
+        return new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                claims.get("role", String.class),
+                userId != null ? userId.longValue() : null,
+                version != null ? version.intValue() : 0,
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,166 @@
+package com.tickethub.services;
+
+import com.tickethub.dto.queueDto.QueueStatusResponse;
+import com.tickethub.exception.QueueAdmissionException;
+import com.tickethub.exception.ResourceNotFoundException;
+import com.tickethub.inventory.TicketInventory;
+import com.tickethub.ratelimit.TokenBucket;
+import com.tickethub.waitingroom.QueueTicket;
+import com.tickethub.waitingroom.QueueTokenSigner;
+import com.tickethub.waitingroom.WaitingRoom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual waiting room in front of bookings and holds. Visitors get a signed token carrying their
+ * position; each event admits positions at {@code admissions-per-second} through a token bucket, and
+ * purchases require an admitted token. Status polls and streams touch no database.
+ * <p>
+ * Streams park one virtual thread per visitor between updates, so a large queue costs memory rather
+ * than platform threads.
+ * <p>
+ * Rooms live in this instance's memory, so the waiting room only works on a single instance (or
+ * with every request for an event routed to the same one). Tokens name the room that issued them:
+ * a token from another instance's room, or from a room that was closed and recreated, is refused
+ * and the visitor has to join again.
+ */
+@Service
+@Slf4j
+public class WaitingRoomService {
+
+    private final TicketInventory ticketInventory;
+    private final QueueTokenSigner tokenSigner;
+    private final boolean enabled;
+    private final long admissionsPerSecond;
+    private final long admissionBurst;
+    private final Duration streamInterval;
+
+    private final Map<Long, WaitingRoom> rooms = new ConcurrentHashMap<>();
+    private final ExecutorService streams = Executors.newVirtualThreadPerTaskExecutor();
+
+    public WaitingRoomService(TicketInventory ticketInventory,
+                              QueueTokenSigner tokenSigner,
+                              @Value("${tickethub.waiting-room.enabled:false}") boolean enabled,
+                              @Value("${tickethub.waiting-room.admissions-per-second:50}") long admissionsPerSecond,
+                              @Value("${tickethub.waiting-room.admission-burst:50}") long admissionBurst,
+                              @Value("${tickethub.waiting-room.stream-interval:1s}") Duration streamInterval) {
+        this.ticketInventory = ticketInventory;
+        this.tokenSigner = tokenSigner;
+        this.enabled = enabled;
+        this.admissionsPerSecond = admissionsPerSecond;
+        this.admissionBurst = admissionBurst;
+        this.streamInterval = streamInterval;
+    }
+
+    public QueueStatusResponse join(Long eventId, String userEmail) {
+        if (ticketInventory.available(eventId).isEmpty()) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
+        WaitingRoom room = rooms.computeIfAbsent(eventId, id ->
+                new WaitingRoom(new TokenBucket(admissionBurst, admissionsPerSecond)));
+        long position = room.join(userEmail);
+        String token = tokenSigner.sign(
+                new QueueTicket(eventId, room.id(), userEmail, position, Instant.now().getEpochSecond()));
+        log.debug("User {} joined the waiting room for event {} at position {}", userEmail, eventId, position);
+        return status(room, eventId, token, position);
+    }
+
+    public QueueStatusResponse status(Long eventId, String queueToken) {
+        QueueTicket ticket = verify(eventId, queueToken);
+        WaitingRoom room = rooms.get(eventId);
+        if (room == null) {
+            throw new QueueAdmissionException("The waiting room for event " + eventId + " has closed");
+        }
+        if (!room.id().equals(ticket.roomId())) {
+            throw new QueueAdmissionException("Queue token is from an earlier waiting room for event " + eventId
+                    + "; join again");
+        }
+        return status(room, eventId, queueToken, ticket.position());
+    }
+
+    /**
+     * Gate for the purchase path; a no-op while the waiting room is disabled.
+     */
+    public void requireAdmission(Long eventId, String queueToken, String userEmail) {
+        if (!enabled) {
+            return;
+        }
+        QueueTicket ticket = verify(eventId, queueToken);
+        if (!ticket.userEmail().equals(userEmail)) {
+            throw new QueueAdmissionException("Queue token belongs to another user");
+        }
+        if (!status(eventId, queueToken).getAdmitted()) {
+            throw new QueueAdmissionException("Not admitted from the waiting room yet");
+        }
+    }
+
+    /**
+     * Pushes the visitor's status every stream interval until they are admitted or disconnect.
+     */
+    public SseEmitter stream(Long eventId, String queueToken) {
+        QueueStatusResponse initial = status(eventId, queueToken);
+        SseEmitter emitter = new SseEmitter(0L);
+        streams.execute(() -> {
+            try {
+                QueueStatusResponse current = initial;
+                emitter.send(current);
+                while (!current.getAdmitted()) {
+                    Thread.sleep(streamInterval);
+                    current = status(eventId, queueToken);
+                    emitter.send(current);
+                }
+                emitter.complete();
+            } catch (IOException e) {
+                // Client went away; nothing to clean up
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                emitter.complete();
+            } catch (RuntimeException e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    // Rooms exist for events on sale only; selling out is not leaving the sale, since returned
+    // tickets put the event back on sale and the queue must keep its order through that
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.getCurrent() == null || !TicketInventory.ON_SALE.contains(change.getCurrent().getStatus())) {
+            rooms.remove(change.getEventId());
+        }
+    }
+
+    private QueueTicket verify(Long eventId, String queueToken) {
+        QueueTicket ticket = tokenSigner.verify(queueToken);
+        if (!ticket.eventId().equals(eventId)) {
+            throw new QueueAdmissionException("Queue token is for another event");
+        }
+        return ticket;
+    }
+
+    private static QueueStatusResponse status(WaitingRoom room, Long eventId, String token, long position) {
+        long admittedThrough = room.admittedThrough();
+        boolean admitted = position <= admittedThrough;
+        long ahead = admitted ? 0 : position - admittedThrough - 1;
+        return QueueStatusResponse.builder()
+                .eventId(eventId)
+                .queueToken(token)
+                .position(position)
+                .peopleAhead(ahead)
+                .admitted(admitted)
+                .estimatedWaitSeconds(admitted ? 0 : (long) Math.ceil((ahead + 1) / room.admissionsPerSecond()))
+                .build();
+    }
+}
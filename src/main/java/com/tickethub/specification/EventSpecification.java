@@ -1,14 +1,20 @@
 package com.tickethub.specification;
 
+import com.tickethub.config.PostgresSearchFunctionContributor;
+import com.tickethub.dto.eventDto.EventCursor;
 import com.tickethub.entity.Event;
+import com.tickethub.entity.Venue;
 import com.tickethub.enums.EventCategory;
 import com.tickethub.enums.EventStatus;
+import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 
 public class EventSpecification {
 
@@ -33,6 +39,18 @@ public class EventSpecification {
         };
     }
 
+    /**
+     * Full-text match against the generated search vector (served by its GIN index)
+     */
+    public static Specification<Event> matchesSearchQuery(String searchQuery) {
+        if (searchQuery == null || searchQuery.trim().isEmpty()) {
+            return Specification.where(null);
+        }
+        return (root, query, criteriaBuilder) -> criteriaBuilder.isTrue(
+                criteriaBuilder.function(PostgresSearchFunctionContributor.MATCH, Boolean.class,
+                        root.get("searchVector"), criteriaBuilder.literal(searchQuery.trim())));
+    }
+
     /**
      * Filter by category
      */
@@ -54,7 +72,37 @@ public class EventSpecification {
         return (root, query, criteriaBuilder) -> {
             String pattern = "%" + city.toLowerCase() + "%";
             return criteriaBuilder.like(
-                    criteriaBuilder.lower(root.join("venue", JoinType.INNER).get("city")), pattern);
+                    criteriaBuilder.lower(venueJoin(root).get("city")), pattern);
+        };
+    }
+
+    /**
+     * Reuses the venue join when the query already has one (e.g. the summary projection),
+     * so filtering by city does not join venues a second time.
+     */
+    @SuppressWarnings("unchecked")
+    private static Join<Event, Venue> venueJoin(Root<Event> root) {
+        for (Join<Event, ?> join : root.getJoins()) {
+            if ("venue".equals(join.getAttribute().getName())) {
+                return (Join<Event, Venue>) join;
+            }
+        }
+        return root.join("venue", JoinType.INNER);
+    }
+
+    /**
+     * Filter by venue ids
+     */
+    public static Specification<Event> hasVenueIn(Collection<Long> venueIds) {
+        if (venueIds == null) {
+            return Specification.where(null);
+        }
+        return (root, query, criteriaBuilder) -> {
+            if (venueIds.isEmpty()) {
+                return criteriaBuilder.disjunction();
+            }
+            // Compares the foreign key column directly, no join to venues
+            return root.get("venue").get("id").in(venueIds);
         };
     }
 
@@ -102,6 +150,21 @@ public class EventSpecification {
                 criteriaBuilder.lessThanOrEqualTo(root.get("price"), maxPrice);
     }
 
+    /**
+     * Keyset predicate: events strictly after the cursor in (eventDateTime, id) order.
+     * The leading range on eventDateTime lets the planner seek on its index instead of skipping rows.
+     */
+    public static Specification<Event> afterCursor(EventCursor cursor) {
+        if (cursor == null) {
+            return Specification.where(null);
+        }
+        return (root, query, criteriaBuilder) -> criteriaBuilder.and(
+                criteriaBuilder.greaterThanOrEqualTo(root.get("eventDateTime"), cursor.getEventDateTime()),
+                criteriaBuilder.or(
+                        criteriaBuilder.greaterThan(root.get("eventDateTime"), cursor.getEventDateTime()),
+                        criteriaBuilder.greaterThan(root.get("id"), cursor.getId())));
+    }
+
     /**
      * Combines all specifications with AND logic
      */
@@ -0,0 +1,8 @@
+package com.tickethub.waitingroom;
+
+/**
+ * A place in an event's waiting room, as carried inside a signed queue token. {@code roomId} names the
+ * room the position was handed out in, since positions restart whenever a room is created.
+ */
+public record QueueTicket(Long eventId, String roomId, String userEmail, long position, long issuedAtEpochSecond) {
+}
@@ -0,0 +1,86 @@
+package com.tickethub.waitingroom;
+
+import com.tickethub.exception.QueueAdmissionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Issues and verifies queue tokens: {@code base64url(payload).base64url(HMAC-SHA256(payload))}.
+ * The position lives in the token, so the server keeps no per-visitor session to answer a poll.
+ * <p>
+ * The signing key is derived from the configured secret (the JWT secret unless one is set), so a
+ * queue token MAC can never be confused with anything else signed under that secret.
+ */
+@Component
+public class QueueTokenSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "v2";
+    private static final String KEY_LABEL = "tickethub-waiting-room-token";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration tokenTtl;
+
+    public QueueTokenSigner(@Value("${tickethub.waiting-room.secret:${jwt.secret}}") String secret,
+                            @Value("${tickethub.waiting-room.token-ttl:2h}") Duration tokenTtl) {
+        byte[] derived = mac(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM),
+                KEY_LABEL.getBytes(StandardCharsets.UTF_8));
+        this.key = new SecretKeySpec(derived, ALGORITHM);
+        this.tokenTtl = tokenTtl;
+    }
+
+    public String sign(QueueTicket ticket) {
+        String payload = String.join("|", VERSION, String.valueOf(ticket.eventId()), ticket.roomId(),
+                String.valueOf(ticket.position()), String.valueOf(ticket.issuedAtEpochSecond()), ticket.userEmail());
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(mac(key, payloadBytes));
+    }
+
+    public QueueTicket verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new QueueAdmissionException("Queue token is required");
+        }
+        try {
+            int dot = token.indexOf('.');
+            byte[] payloadBytes = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(mac(key, payloadBytes), signature)) {
+                throw new QueueAdmissionException("Invalid queue token");
+            }
+            // Email is the only free-text part, so it goes last and may itself contain '|'
+            String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|", 6);
+            if (parts.length != 6 || !VERSION.equals(parts[0])) {
+                throw new QueueAdmissionException("Invalid queue token");
+            }
+            QueueTicket ticket = new QueueTicket(Long.parseLong(parts[1]), parts[2], parts[5],
+                    Long.parseLong(parts[3]), Long.parseLong(parts[4]));
+            if (Instant.ofEpochSecond(ticket.issuedAtEpochSecond()).plus(tokenTtl).isBefore(Instant.now())) {
+                throw new QueueAdmissionException("Queue token has expired");
+            }
+            return ticket;
+        } catch (IllegalArgumentException | StringIndexOutOfBoundsException e) {
+            throw new QueueAdmissionException("Invalid queue token");
+        }
+    }
+
+    private static byte[] mac(SecretKeySpec key, byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+        }
+    }
+}
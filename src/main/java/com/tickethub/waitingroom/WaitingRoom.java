@@ -0,0 +1,58 @@
+package com.tickethub.waitingroom;
+
+import com.tickethub.ratelimit.TokenBucket;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One event's queue: positions are handed out in arrival order and the admission line moves forward
+ * by however many tokens the bucket has accumulated since it last moved. The line only advances when
+ * someone asks, so an idle room costs nothing.
+ * <p>
+ * Positions restart at 1 in every room, so each room gets a random id that its tokens carry; a token
+ * from an earlier room for the same event (or from another instance) does not match.
+ */
+public class WaitingRoom {
+
+    private final String id = UUID.randomUUID().toString();
+    private final AtomicLong lastPosition = new AtomicLong();
+    private final AtomicLong admittedThrough = new AtomicLong();
+    private final Map<String, Long> positionsByUser = new ConcurrentHashMap<>();
+    private final TokenBucket admissions;
+
+    public WaitingRoom(TokenBucket admissions) {
+        this.admissions = admissions;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    /**
+     * The visitor's position; joining again keeps the original place instead of starting over.
+     */
+    public long join(String userEmail) {
+        return positionsByUser.computeIfAbsent(userEmail, email -> lastPosition.incrementAndGet());
+    }
+
+    public long admittedThrough() {
+        long admitted = admittedThrough.get();
+        long waiting = lastPosition.get() - admitted;
+        if (waiting <= 0) {
+            return admitted;
+        }
+        long granted = admissions.acquireUpTo(waiting);
+        if (granted == 0) {
+            return admitted;
+        }
+        long last = lastPosition.get();
+        return admittedThrough.accumulateAndGet(granted, (current, added) -> Math.min(current + added, last));
+    }
+
+    public double admissionsPerSecond() {
+        return admissions.tokensPerSecond();
+    }
+}
@@ -0,0 +1,9 @@
+-- Per-user token version, carried in access tokens as the "ver" claim. Bumping it invalidates every
+-- token issued before; users without a row are at version 0
+CREATE TABLE IF NOT EXISTS user_token_versions (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    version INTEGER NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_token_versions_updated_at ON user_token_versions(updated_at);
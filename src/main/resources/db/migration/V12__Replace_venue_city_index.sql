@@ -0,0 +1,5 @@
+-- The city filter is a substring match (lower(v.city) LIKE '%q%'), which the btree on lower(city)
+-- from V5 cannot serve; index it with trigrams like the event name and artist filters
+DROP INDEX IF EXISTS idx_venues_lower_city;
+
+CREATE INDEX IF NOT EXISTS idx_venues_city_trgm ON venues USING GIN (lower(city) gin_trgm_ops);
@@ -0,0 +1,16 @@
+-- Full-text and trigram search support for events
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Name matches weigh more than artist matches when ranking
+ALTER TABLE events
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+            setweight(to_tsvector('english', coalesce(artist_name, '')), 'B')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_events_search_vector ON events USING GIN (search_vector);
+
+-- Let the substring filter (lower(col) LIKE '%q%') use an index instead of scanning events
+CREATE INDEX IF NOT EXISTS idx_events_name_trgm ON events USING GIN (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_events_artist_name_trgm ON events USING GIN (lower(artist_name) gin_trgm_ops);
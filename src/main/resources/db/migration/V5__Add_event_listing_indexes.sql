@@ -0,0 +1,20 @@
+-- Partial indexes matched to the public listing: every public query filters status = 'PUBLISHED'
+-- and orders by event_date_time, with id as the keyset tie-breaker
+
+CREATE INDEX IF NOT EXISTS idx_events_published_date
+    ON events (event_date_time, id) WHERE status = 'PUBLISHED';
+
+-- Category tabs
+CREATE INDEX IF NOT EXISTS idx_events_published_category_date
+    ON events (category, event_date_time, id) WHERE status = 'PUBLISHED';
+
+-- City filter joins venues and probes events per venue
+CREATE INDEX IF NOT EXISTS idx_events_published_venue_date
+    ON events (venue_id, event_date_time) WHERE status = 'PUBLISHED';
+
+-- Price range filter
+CREATE INDEX IF NOT EXISTS idx_events_published_price
+    ON events (price, event_date_time) WHERE status = 'PUBLISHED';
+
+-- Case-insensitive city lookups (the existing idx_venues_city only serves exact matches)
+CREATE INDEX IF NOT EXISTS idx_venues_lower_city ON venues (lower(city));
@@ -0,0 +1,19 @@
+-- Tickets held during checkout; taken from events.available_tickets while ACTIVE
+CREATE TABLE IF NOT EXISTS ticket_holds (
+    id BIGSERIAL PRIMARY KEY,
+    event_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    status VARCHAR(50) NOT NULL DEFAULT 'ACTIVE',
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_ticket_holds_event FOREIGN KEY (event_id) REFERENCES events(id),
+    CONSTRAINT fk_ticket_holds_user FOREIGN KEY (user_id) REFERENCES users(id),
+    CONSTRAINT chk_ticket_holds_quantity CHECK (quantity > 0)
+);
+
+-- Startup reloads only the holds that can still expire
+CREATE INDEX IF NOT EXISTS idx_ticket_holds_active_expires_at ON ticket_holds(expires_at) WHERE status = 'ACTIVE';
+CREATE INDEX IF NOT EXISTS idx_ticket_holds_event_id ON ticket_holds(event_id);
+CREATE INDEX IF NOT EXISTS idx_ticket_holds_user_id ON ticket_holds(user_id);
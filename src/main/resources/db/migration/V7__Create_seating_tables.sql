@@ -0,0 +1,36 @@
+-- Reserved seating layout: sections ranked best-first, rows numbered front-to-back
+CREATE TABLE IF NOT EXISTS venue_sections (
+    id BIGSERIAL PRIMARY KEY,
+    venue_id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    rank INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_venue_sections_venue FOREIGN KEY (venue_id) REFERENCES venues(id) ON DELETE CASCADE,
+    CONSTRAINT uq_venue_sections_name UNIQUE (venue_id, name)
+);
+
+-- Seats are numbered 1..seat_count within a row
+CREATE TABLE IF NOT EXISTS venue_rows (
+    id BIGSERIAL PRIMARY KEY,
+    section_id BIGINT NOT NULL,
+    label VARCHAR(20) NOT NULL,
+    row_order INTEGER NOT NULL,
+    seat_count INTEGER NOT NULL,
+    CONSTRAINT fk_venue_rows_section FOREIGN KEY (section_id) REFERENCES venue_sections(id) ON DELETE CASCADE,
+    CONSTRAINT uq_venue_rows_order UNIQUE (section_id, row_order),
+    CONSTRAINT chk_venue_rows_seat_count CHECK (seat_count > 0)
+);
+
+-- Per-event seat availability: one bit per seat (1 = free), each row starting on a 64-bit word
+CREATE TABLE IF NOT EXISTS event_seat_maps (
+    event_id BIGINT NOT NULL,
+    section_id BIGINT NOT NULL,
+    seats BYTEA NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (event_id, section_id),
+    CONSTRAINT fk_event_seat_maps_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE,
+    CONSTRAINT fk_event_seat_maps_section FOREIGN KEY (section_id) REFERENCES venue_sections(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_venue_sections_venue_id ON venue_sections(venue_id);
@@ -0,0 +1,3 @@
+-- Optimistic locking for concurrent event edits. Inventory updates do not bump it; an edit cannot
+-- write back a stale available_tickets because Event uses @DynamicUpdate and only writes changed columns
+ALTER TABLE events ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,14 @@
+-- Responses to mutations sent with an Idempotency-Key, replayed when the client retries
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    -- SHA-256 of user, method, path and the client's key
+    scope_hash CHAR(64) PRIMARY KEY,
+    request_hash CHAR(64) NOT NULL,
+    -- NULL while the first request is still running; expires_at is then a short lease
+    status_code INTEGER,
+    content_type VARCHAR(255),
+    body BYTEA,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
@@ -0,0 +1,185 @@
+package com.tickethub.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickethub.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyFilterTest {
+
+    private static final String PATH = "/api/events/7/bookings";
+    private static final String BODY = "{\"quantity\":2}";
+
+    private final IdempotencyKeyRepository repository = mock(IdempotencyKeyRepository.class);
+    private final IdempotencyFilter filter = new IdempotencyFilter(
+            new IdempotencyStore(repository, Duration.ofHours(1), 100, Duration.ofSeconds(5), new SimpleMeterRegistry()),
+            new ObjectMapper().findAndRegisterModules(), true, List.of("/api/events/**"));
+    private final AtomicInteger controllerCalls = new AtomicInteger();
+    private volatile int controllerStatus = 201;
+
+    @BeforeEach
+    void authenticate() {
+        when(repository.claim(any(), any(), any(), any())).thenReturn(true);
+        when(repository.complete(any(), any(), any(), any())).thenReturn(true);
+        authenticateAs("fan@tickethub.test");
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void retryGetsTheFirstResponseMarkedAsReplayed() throws Exception {
+        MockHttpServletResponse first = send("key-1", BODY, controller());
+        MockHttpServletResponse retry = send("key-1", BODY, controller());
+
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getContentType()).isEqualTo("application/json");
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString()).contains("booking 1");
+        assertThat(controllerCalls).hasValue(1);
+    }
+
+    @Test
+    void keyReusedWithADifferentBodyIsUnprocessable() throws Exception {
+        send("key-1", BODY, controller());
+
+        MockHttpServletResponse reused = send("key-1", "{\"quantity\":3}", controller());
+
+        assertThat(reused.getStatus()).isEqualTo(422);
+        assertThat(reused.getContentAsString()).contains("already used for a different request");
+        assertThat(controllerCalls).hasValue(1);
+    }
+
+    @Test
+    void concurrentDuplicateWaitsAndReceivesTheReplay() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch finishFirst = new CountDownLatch(1);
+        FilterChain slowController = (request, response) -> {
+            firstStarted.countDown();
+            await(finishFirst);
+            controller().doFilter(request, response);
+        };
+
+        CompletableFuture<MockHttpServletResponse> first =
+                CompletableFuture.supplyAsync(() -> sendQuietly("key-1", slowController));
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<MockHttpServletResponse> duplicate =
+                CompletableFuture.supplyAsync(() -> sendQuietly("key-1", controller()));
+        Thread.sleep(200);
+        assertThat(duplicate).isNotDone();
+        finishFirst.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+        MockHttpServletResponse replayed = duplicate.get(5, TimeUnit.SECONDS);
+        assertThat(replayed.getStatus()).isEqualTo(201);
+        assertThat(replayed.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(controllerCalls).hasValue(1);
+    }
+
+    @Test
+    void conflictAndServerErrorAreNotReplayed() throws Exception {
+        controllerStatus = 409;
+        MockHttpServletResponse conflict = send("key-1", BODY, controller());
+        controllerStatus = 503;
+        MockHttpServletResponse unavailable = send("key-1", BODY, controller());
+        controllerStatus = 201;
+        MockHttpServletResponse retry = send("key-1", BODY, controller());
+
+        assertThat(conflict.getStatus()).isEqualTo(409);
+        assertThat(unavailable.getStatus()).isEqualTo(503);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(controllerCalls).hasValue(3);
+        verify(repository, times(2)).release(anyString(), anyString());
+    }
+
+    @Test
+    void keysAreScopedToTheCaller() throws Exception {
+        send("key-1", BODY, controller());
+        authenticateAs("other@tickethub.test");
+
+        MockHttpServletResponse other = send("key-1", BODY, controller());
+
+        assertThat(other.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(controllerCalls).hasValue(2);
+    }
+
+    private FilterChain controller() {
+        return (request, response) -> {
+            int booking = controllerCalls.incrementAndGet();
+            // Reads the body the filter already consumed, as the controller would
+            request.getInputStream().readAllBytes();
+            response.setContentType("application/json");
+            ((HttpServletResponse) response).setStatus(controllerStatus);
+            response.getOutputStream().write(("{\"id\":\"booking " + booking + "\"}").getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private MockHttpServletResponse send(String key, String body, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", PATH);
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    // Runs on another thread, which needs the caller's authentication of its own
+    private MockHttpServletResponse sendQuietly(String key, FilterChain chain) {
+        authenticateAs("fan@tickethub.test");
+        try {
+            return send(key, BODY, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static void authenticateAs(String email) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                email, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        SecurityContextHolder.setContext(context);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.tickethub.idempotency;
+
+import com.tickethub.idempotency.IdempotencyStore.Outcome;
+import com.tickethub.idempotency.IdempotencyStore.Result;
+import com.tickethub.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyStoreTest {
+
+    private static final String SCOPE = "scope";
+    private static final String REQUEST = "request";
+
+    private final IdempotencyKeyRepository repository = mock(IdempotencyKeyRepository.class);
+    private final AtomicInteger runs = new AtomicInteger();
+
+    IdempotencyStoreTest() {
+        when(repository.claim(any(), any(), any(), any())).thenReturn(true);
+        when(repository.complete(any(), any(), any(), any())).thenReturn(true);
+    }
+
+    @Test
+    void retryWithTheSameRequestReplaysTheFirstResponse() throws Exception {
+        IdempotencyStore store = store(Duration.ofSeconds(5));
+
+        Result first = store.execute(SCOPE, REQUEST, () -> respond(201));
+        Result retry = store.execute(SCOPE, REQUEST, () -> respond(201));
+
+        assertThat(first.outcome()).isEqualTo(Outcome.EXECUTED);
+        assertThat(retry.outcome()).isEqualTo(Outcome.REPLAYED);
+        assertThat(retry.response()).isSameAs(first.response());
+        assertThat(runs).hasValue(1);
+        verify(repository).complete(eq(SCOPE), eq(REQUEST), eq(first.response()), any());
+    }
+
+    @Test
+    void keyUsedForADifferentRequestIsRefused() throws Exception {
+        IdempotencyStore store = store(Duration.ofSeconds(5));
+        store.execute(SCOPE, REQUEST, () -> respond(201));
+
+        Result reused = store.execute(SCOPE, "another request", () -> respond(201));
+
+        assertThat(reused.outcome()).isEqualTo(Outcome.KEY_REUSED);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void storedResponseFromAnotherInstanceIsReplayed() throws Exception {
+        IdempotencyStore store = store(Duration.ofSeconds(5));
+        StoredResponse stored = new StoredResponse(REQUEST, 201, "application/json", new byte[]{1});
+        when(repository.claim(any(), any(), any(), any())).thenReturn(false);
+        when(repository.findCompleted(SCOPE)).thenReturn(Optional.of(stored));
+
+        Result result = store.execute(SCOPE, REQUEST, () -> respond(201));
+
+        assertThat(result.outcome()).isEqualTo(Outcome.REPLAYED);
+        assertThat(result.response()).isSameAs(stored);
+        assertThat(runs).hasValue(0);
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForTheFirstAndReplaysIt() throws Exception {
+        IdempotencyStore store = store(Duration.ofSeconds(5));
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch finishFirst = new CountDownLatch(1);
+
+        CompletableFuture<Result> first = CompletableFuture.supplyAsync(() -> execute(store, () -> {
+            firstStarted.countDown();
+            await(finishFirst);
+            return respond(201);
+        }));
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Result> duplicate = CompletableFuture.supplyAsync(() -> execute(store, () -> respond(201)));
+
+        // The duplicate is parked on the first request's response rather than answered or run
+        Thread.sleep(200);
+        assertThat(duplicate).isNotDone();
+        finishFirst.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).outcome()).isEqualTo(Outcome.EXECUTED);
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).outcome()).isEqualTo(Outcome.REPLAYED);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void duplicateGivesUpAfterTheWaitTimeout() throws Exception {
+        IdempotencyStore store = store(Duration.ofMillis(100));
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch finishFirst = new CountDownLatch(1);
+        CompletableFuture<Result> first = CompletableFuture.supplyAsync(() -> execute(store, () -> {
+            firstStarted.countDown();
+            await(finishFirst);
+            return respond(201);
+        }));
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(store.execute(SCOPE, REQUEST, () -> respond(201)).outcome()).isEqualTo(Outcome.IN_PROGRESS);
+        finishFirst.countDown();
+        first.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void nonReplayableStatusReleasesTheClaimSoTheRetryRunsAgain() throws Exception {
+        IdempotencyStore store = store(Duration.ofSeconds(5));
+
+        for (int status : new int[]{409, 503}) {
+            Result result = store.execute(SCOPE, REQUEST, () -> respond(status));
+            assertThat(result.outcome()).isEqualTo(Outcome.EXECUTED);
+            assertThat(result.response().status()).isEqualTo(status);
+        }
+        Result retry = store.execute(SCOPE, REQUEST, () -> respond(201));
+
+        assertThat(retry.outcome()).isEqualTo(Outcome.EXECUTED);
+        assertThat(runs).hasValue(3);
+        verify(repository, times(2)).release(SCOPE, REQUEST);
+    }
+
+    @Test
+    void failedRequestReleasesTheClaim() {
+        IdempotencyStore store = store(Duration.ofSeconds(5));
+
+        assertThatThrownBy(() -> store.execute(SCOPE, REQUEST, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        verify(repository).release(SCOPE, REQUEST);
+        verify(repository, never()).complete(any(), any(), any(), any());
+    }
+
+    @Test
+    void liveClaimOnAnotherInstanceIsInProgress() throws Exception {
+        IdempotencyStore store = store(Duration.ofSeconds(5));
+        when(repository.claim(any(), any(), any(), any())).thenReturn(false);
+        when(repository.findCompleted(SCOPE)).thenReturn(Optional.empty());
+
+        assertThat(store.execute(SCOPE, REQUEST, () -> respond(201)).outcome()).isEqualTo(Outcome.IN_PROGRESS);
+        assertThat(runs).hasValue(0);
+    }
+
+    @Test
+    void leaseIsRenewedOnlyWhileTheRequestRuns() throws Exception {
+        IdempotencyStore store = store(Duration.ofSeconds(5));
+
+        store.execute(SCOPE, REQUEST, () -> {
+            store.renewLeases();
+            return respond(201);
+        });
+        store.renewLeases();
+
+        verify(repository).renewLeases(eq(List.of(SCOPE)), any());
+        verify(repository).renewLeases(eq(List.of()), any());
+    }
+
+    @Test
+    void lapsedLeaseTakenOverElsewhereLeavesTheLateResponseUnstored() throws Exception {
+        // This instance's lease lapsed while its request ran and another instance claimed the key,
+        // so storing the late response matches no unfinished claim
+        IdempotencyStore slow = store(Duration.ofSeconds(5));
+        IdempotencyStore takeover = store(Duration.ofSeconds(5));
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch finishSlow = new CountDownLatch(1);
+        when(repository.complete(any(), any(), any(), any())).thenReturn(true, false);
+
+        CompletableFuture<Result> late = CompletableFuture.supplyAsync(() -> execute(slow, () -> {
+            slowStarted.countDown();
+            await(finishSlow);
+            return respond(201);
+        }));
+        assertThat(slowStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        Result taken = takeover.execute(SCOPE, REQUEST, () -> respond(201));
+        finishSlow.countDown();
+
+        assertThat(taken.outcome()).isEqualTo(Outcome.EXECUTED);
+        assertThat(late.get(5, TimeUnit.SECONDS).outcome()).isEqualTo(Outcome.EXECUTED);
+        assertThat(runs).hasValue(2);
+        // The instance that lost the key still answers its own local retries from memory
+        assertThat(slow.execute(SCOPE, REQUEST, () -> respond(201)).outcome()).isEqualTo(Outcome.REPLAYED);
+    }
+
+    private IdempotencyStore store(Duration waitTimeout) {
+        return new IdempotencyStore(repository, Duration.ofHours(1), 100, waitTimeout, new SimpleMeterRegistry());
+    }
+
+    private StoredResponse respond(int status) {
+        runs.incrementAndGet();
+        return new StoredResponse(REQUEST, status, "application/json", ("{\"status\":" + status + "}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Result execute(IdempotencyStore store, IdempotencyStore.Execution execution) {
+        try {
+            return store.execute(SCOPE, REQUEST, execution);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.tickethub.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK_MS = 10;
+    private static final int WHEEL_SIZE = 8;
+
+    private final List<String> fired = new ArrayList<>();
+
+    @Test
+    void expiryInHigherLevelIsCascadedDownAndFiresOnItsTick() {
+        // Level 0 covers 80ms from the start; 250ms lands in level 1 (80ms buckets)
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MS, WHEEL_SIZE, 0);
+        assertThat(wheel.schedule("hold", 250)).isTrue();
+
+        wheel.advance(240, fired::add);
+        assertThat(fired).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        // Its level-0 bucket is [250, 260), which fires once that tick has fully passed
+        wheel.advance(259, fired::add);
+        assertThat(fired).isEmpty();
+        wheel.advance(260, fired::add);
+        assertThat(fired).containsExactly("hold");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void expiryTwoLevelsUpFallsThroughBothLevels() {
+        // Level 1 covers 640ms, so 1000ms starts out in level 2
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MS, WHEEL_SIZE, 0);
+        wheel.schedule("far", 1_000);
+        wheel.schedule("near", 30);
+
+        wheel.advance(999, fired::add);
+        assertThat(fired).containsExactly("near");
+
+        wheel.advance(1_010, fired::add);
+        assertThat(fired).containsExactly("near", "far");
+    }
+
+    @Test
+    void tickThatWrapsTheWheelDoesNotFireLaterBucketsEarly() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MS, WHEEL_SIZE, 0);
+        wheel.advance(70, fired::add);
+
+        // 70 sits in the last level-0 bucket; 145 wraps round to bucket 6, behind it
+        wheel.schedule("wrapped", 145);
+        wheel.schedule("same-slot-next-turn", 150);
+
+        wheel.advance(149, fired::add);
+        assertThat(fired).isEmpty();
+        wheel.advance(150, fired::add);
+        assertThat(fired).containsExactly("wrapped");
+        wheel.advance(160, fired::add);
+        assertThat(fired).containsExactly("wrapped", "same-slot-next-turn");
+    }
+
+    @Test
+    void startTimeIsRoundedDownToATickAndPastExpiriesAreRefused() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MS, WHEEL_SIZE, 1_005);
+
+        assertThat(wheel.schedule("current-tick", 1_000)).isTrue();
+        assertThat(wheel.schedule("past", 999)).isFalse();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        wheel.advance(1_010, fired::add);
+        assertThat(fired).containsExactly("current-tick");
+    }
+
+    @Test
+    void randomExpiriesFireNeverEarlyAndAtMostOneTickLate() {
+        Random random = new Random(42);
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MS, WHEEL_SIZE, 0);
+        Map<String, Long> expirations = new HashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            long expiration = random.nextInt(20_000);
+            expirations.put("item-" + i, expiration);
+            wheel.schedule("item-" + i, expiration);
+        }
+
+        Map<String, Long> firedAt = new HashMap<>();
+        for (long now = 0; now <= 20_010; now++) {
+            long at = now;
+            wheel.advance(now, item -> firedAt.put(item, at));
+        }
+
+        assertThat(firedAt).hasSameSizeAs(expirations);
+        expirations.forEach((item, expiration) ->
+                assertThat(firedAt.get(item)).isBetween(expiration + 1, expiration + TICK_MS));
+        assertThat(wheel.size()).isZero();
+    }
+}
@@ -0,0 +1,83 @@
+package com.tickethub.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedCounterTest {
+
+    @Test
+    void takesUntilTheTotalRunsOut() {
+        StripedCounter counter = new StripedCounter(10, 4);
+
+        assertThat(counter.tryTake(3)).isTrue();
+        assertThat(counter.tryTake(3)).isTrue();
+        assertThat(counter.sum()).isEqualTo(4);
+        assertThat(counter.tryTake(5)).isFalse();
+        assertThat(counter.sum()).isEqualTo(4);
+        assertThat(counter.tryTake(4)).isTrue();
+        assertThat(counter.sum()).isZero();
+        assertThat(counter.tryTake(1)).isFalse();
+    }
+
+    @Test
+    void rebalancesWhenNoSingleStripeCoversTheRequest() {
+        // 10 over 4 stripes is at most 3 a stripe, so taking 9 has to gather from all of them
+        StripedCounter counter = new StripedCounter(10, 4);
+
+        assertThat(counter.tryTake(9)).isTrue();
+        assertThat(counter.sum()).isEqualTo(1);
+        assertThat(counter.tryTake(2)).isFalse();
+        assertThat(counter.sum()).isEqualTo(1);
+    }
+
+    @Test
+    void addedTicketsCanBeTakenFromAnyStripe() {
+        StripedCounter counter = new StripedCounter(0, 4);
+
+        counter.add(6);
+        assertThat(counter.sum()).isEqualTo(6);
+        assertThat(counter.tryTake(6)).isTrue();
+        assertThat(counter.sum()).isZero();
+    }
+
+    @Test
+    void concurrentTakersNeverGrantMoreThanTheTotal() throws Exception {
+        int tickets = 10_000;
+        StripedCounter counter = new StripedCounter(tickets, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 32; i++) {
+            int quantity = i % 3 + 1;
+            futures.add(executor.submit(() -> {
+                start.await();
+                // A refusal is exact, so the single-ticket takers only stop once nothing is left
+                while (counter.tryTake(quantity)) {
+                    granted.addAndGet(quantity);
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertThat(granted.get()).isEqualTo(tickets);
+        assertThat(counter.sum()).isZero();
+    }
+}
@@ -0,0 +1,217 @@
+package com.tickethub.inventory;
+
+import com.tickethub.dto.eventDto.EventSummaryResponse;
+import com.tickethub.enums.EventStatus;
+import com.tickethub.repository.EventInventoryView;
+import com.tickethub.repository.EventRepository;
+import com.tickethub.repository.EventRepositoryCustom.AppliedDecrement;
+import com.tickethub.services.TicketInventoryChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The striped inventory against a mocked repository, with a transaction manager that only drives
+ * synchronizations so rollbacks can be simulated without a database.
+ */
+class StripedTicketInventoryTest {
+
+    private static final Long EVENT_ID = 1L;
+
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final SoldOutTransitions soldOutTransitions = mock(SoldOutTransitions.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(new SynchronizationOnlyTransactionManager());
+    private final List<Object> published = new ArrayList<>();
+
+    private StripedTicketInventory inventory;
+
+    @BeforeEach
+    void setUp() {
+        stockEvent(10);
+        inventory = new StripedTicketInventory(eventRepository, soldOutTransitions, transactionTemplate,
+                published::add, meterRegistry, 4, true);
+    }
+
+    @Test
+    void refusesToStartUnlessMarkedSingleInstance() {
+        assertThatThrownBy(() -> new StripedTicketInventory(eventRepository, soldOutTransitions,
+                transactionTemplate, published::add, meterRegistry, 4, false))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("single-instance");
+    }
+
+    @Test
+    void flushWritesTheGrantedTicketsAsOneBatch() {
+        assertThat(inventory.reserve(EVENT_ID, 3)).hasValue(7);
+        assertThat(inventory.reserve(EVENT_ID, 2)).hasValue(5);
+        applyingReturns(applied(5, 0));
+
+        inventory.flush();
+        inventory.flush();
+
+        verify(eventRepository).applyTicketDecrements(eq(Map.of(EVENT_ID, 5)), any());
+        verify(soldOutTransitions).publishIfChanged(any(), eq(5));
+        assertThat(published).singleElement()
+                .isInstanceOfSatisfying(TicketInventoryChangedEvent.class,
+                        change -> assertThat(change.getAvailableTickets()).isEqualTo(5));
+    }
+
+    @Test
+    void shortfallIsCountedAsOversoldAndTheCounterReloaded() {
+        inventory.reserve(EVENT_ID, 4);
+        // Something else took 8 of the 10 tickets, so the row only had 2 of the 4 granted
+        applyingReturns(applied(0, 2));
+        stockEvent(0);
+
+        inventory.flush();
+
+        assertThat(meterRegistry.counter("tickethub.inventory.oversold").count()).isEqualTo(2);
+        verify(soldOutTransitions).publishIfChanged(any(), eq(2));
+        assertThat(published).singleElement()
+                .isInstanceOfSatisfying(TicketInventoryChangedEvent.class,
+                        change -> assertThat(change.getAvailableTickets()).isZero());
+        assertThat(inventory.available(EVENT_ID)).hasValue(0);
+        verify(eventRepository, times(2)).findInventoryByIdAndStatusIn(eq(EVENT_ID), any());
+    }
+
+    @Test
+    void rolledBackReservationIsReleasedAndNeverFlushed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(inventory.reserve(EVENT_ID, 4)).hasValue(6);
+            status.setRollbackOnly();
+        });
+
+        assertThat(inventory.available(EVENT_ID)).hasValue(10);
+        inventory.flush();
+        verify(eventRepository, never()).applyTicketDecrements(anyMap(), any());
+    }
+
+    @Test
+    void failedFlushIsRetriedWithTheSameDecrements() {
+        inventory.reserve(EVENT_ID, 3);
+        when(eventRepository.applyTicketDecrements(anyMap(), any()))
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenReturn(List.of(applied(7, 0)));
+
+        inventory.flush();
+        inventory.reserve(EVENT_ID, 1);
+        inventory.flush();
+
+        verify(eventRepository, times(2)).applyTicketDecrements(anyMap(), any());
+        verify(eventRepository).applyTicketDecrements(eq(Map.of(EVENT_ID, 4)), any());
+        assertThat(inventory.available(EVENT_ID)).hasValue(6);
+    }
+
+    @Test
+    void concurrentBuyersAndFlushesWriteExactlyWhatWasGranted() throws Exception {
+        int tickets = 2_000;
+        stockEvent(tickets);
+        inventory = new StripedTicketInventory(eventRepository, soldOutTransitions, transactionTemplate,
+                published::add, meterRegistry, 4, true);
+        AtomicInteger written = new AtomicInteger();
+        when(eventRepository.applyTicketDecrements(anyMap(), any())).thenAnswer(invocation -> {
+            int quantity = invocation.<Map<Long, Integer>>getArgument(0).get(EVENT_ID);
+            return List.of(applied(tickets - written.addAndGet(quantity), 0));
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                if (inventory.reserve(EVENT_ID, 1).isPresent()) {
+                    granted.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        futures.add(executor.submit(() -> {
+            start.await();
+            for (int i = 0; i < 50; i++) {
+                inventory.flush();
+            }
+            return null;
+        }));
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        inventory.flush();
+
+        assertThat(granted.get()).isEqualTo(tickets);
+        assertThat(written.get()).isEqualTo(tickets);
+        assertThat(meterRegistry.counter("tickethub.inventory.oversold").count()).isZero();
+    }
+
+    private void stockEvent(int available) {
+        EventInventoryView view = mock(EventInventoryView.class);
+        when(view.getId()).thenReturn(EVENT_ID);
+        when(view.getAvailableTickets()).thenReturn(available);
+        when(eventRepository.findInventoryByIdAndStatusIn(eq(EVENT_ID), any())).thenReturn(Optional.of(view));
+    }
+
+    private void applyingReturns(AppliedDecrement row) {
+        when(eventRepository.applyTicketDecrements(anyMap(), any())).thenReturn(List.of(row));
+    }
+
+    private static AppliedDecrement applied(int available, int shortfall) {
+        EventSummaryResponse event = EventSummaryResponse.builder()
+                .id(EVENT_ID)
+                .availableTickets(available)
+                .status(available > 0 ? EventStatus.PUBLISHED : EventStatus.SOLD_OUT)
+                .build();
+        return new AppliedDecrement(event, shortfall);
+    }
+
+    private static class SynchronizationOnlyTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
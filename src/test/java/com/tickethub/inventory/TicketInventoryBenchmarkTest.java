@@ -0,0 +1,102 @@
+package com.tickethub.inventory;
+
+import com.tickethub.entity.Event;
+import com.tickethub.support.PostgresContainerSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reservation throughput on one hot event: a transaction per request against group-committed batches.
+ * Run with {@code mvn test -Pbenchmark}; results are logged, only correctness is asserted.
+ */
+@Tag("benchmark")
+@Slf4j
+@SpringBootTest(properties = "spring.datasource.hikari.maximum-pool-size=32")
+class TicketInventoryBenchmarkTest extends PostgresContainerSupport {
+
+    private static final int TICKETS = 10_000_000;
+    private static final int THREADS = 64;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(15);
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SoldOutTransitions soldOutTransitions;
+
+    private Event event;
+
+    @BeforeEach
+    void seedEvent() {
+        event = seedPublishedEvent("Benchmark", TICKETS);
+    }
+
+    @Test
+    void transactionPerRequest() throws Exception {
+        run("transaction per request", new DatabaseTicketInventory(eventRepository, soldOutTransitions));
+    }
+
+    @Test
+    void coalescedBatches() throws Exception {
+        run("coalesced batches", new CoalescingTicketInventory(eventRepository, soldOutTransitions, transactionManager, 2, 64));
+    }
+
+    private void run(String name, TicketInventory inventory) throws Exception {
+        measure(inventory, WARMUP);
+        int before = available();
+        long reservations = measure(inventory, MEASUREMENT);
+
+        assertThat(available()).isEqualTo(before - reservations);
+        log.info("{}: {} threads, {} reservations/s",
+                name, THREADS, String.format("%.0f", reservations / (double) MEASUREMENT.toSeconds()));
+    }
+
+    private long measure(TicketInventory inventory, Duration duration) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong granted = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<?>> workers = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                while (System.nanoTime() < deadline) {
+                    if (inventory.reserve(event.getId(), 1).isPresent()) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        return granted.get();
+    }
+
+    private int available() {
+        return eventRepository.findById(event.getId()).orElseThrow().getAvailableTickets();
+    }
+}
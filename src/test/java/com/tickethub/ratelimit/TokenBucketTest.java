@@ -0,0 +1,94 @@
+package com.tickethub.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    // Slow enough that nothing refills while a test runs
+    private static final double NO_REFILL = 0.001;
+
+    @Test
+    void startsFullAndNeverGrantsPastCapacity() {
+        TokenBucket bucket = new TokenBucket(5, NO_REFILL);
+
+        assertThat(bucket.isFull()).isTrue();
+        assertThat(bucket.tryAcquire(3)).isTrue();
+        assertThat(bucket.tryAcquire(3)).isFalse();
+        assertThat(bucket.acquireUpTo(10)).isEqualTo(2);
+        assertThat(bucket.tryAcquire()).isFalse();
+        assertThat(bucket.acquireUpTo(10)).isZero();
+    }
+
+    @Test
+    void refusedAllOrNothingRequestTakesNothing() {
+        TokenBucket bucket = new TokenBucket(4, NO_REFILL);
+
+        assertThat(bucket.tryAcquire(5)).isFalse();
+        assertThat(bucket.acquireUpTo(5)).isEqualTo(4);
+    }
+
+    @Test
+    void refillsAtTheConfiguredRateUpToCapacity() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(10, 1_000);
+        assertThat(bucket.acquireUpTo(10)).isEqualTo(10);
+        assertThat(bucket.isFull()).isFalse();
+
+        // 50ms at 1000/s is 50 tokens, capped at 10
+        Thread.sleep(50);
+
+        assertThat(bucket.isFull()).isTrue();
+        assertThat(bucket.acquireUpTo(100)).isEqualTo(10);
+    }
+
+    @Test
+    void reportsTheWaitForMissingTokens() {
+        TokenBucket bucket = new TokenBucket(2, 1);
+        assertThat(bucket.nanosUntilAvailable(2)).isZero();
+
+        bucket.acquireUpTo(2);
+
+        assertThat(bucket.nanosUntilAvailable(1))
+                .isGreaterThan(TimeUnit.MILLISECONDS.toNanos(900))
+                .isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(bucket.tokensPerSecond()).isEqualTo(1.0);
+    }
+
+    @Test
+    void concurrentCallersShareExactlyTheCapacity() throws Exception {
+        TokenBucket bucket = new TokenBucket(10_000, NO_REFILL);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong granted = new AtomicLong();
+        List<Future<?>> workers = new ArrayList<>();
+
+        for (int i = 0; i < 16; i++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < 1_000; j++) {
+                    if (bucket.tryAcquire()) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertThat(granted.get()).isEqualTo(10_000);
+    }
+}
@@ -0,0 +1,275 @@
+package com.tickethub.repository;
+
+import com.tickethub.dto.eventDto.EventCursor;
+import com.tickethub.enums.EventCategory;
+import com.tickethub.search.CityDictionary;
+import com.tickethub.search.EventSearchCriteria;
+import com.tickethub.search.PriceBuckets;
+import com.tickethub.specification.EventSpecification;
+import com.tickethub.support.PostgresContainerSupport;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plan regression suite for the public listing queries. Seeds a catalog where published events are a
+ * minority (as in production, where past and draft events accumulate), runs every listing, ranked
+ * search and facet combination through the repository, and EXPLAINs the statements it actually sent
+ * (captured with their bindings from the DataSource). Fails if any of them falls back to a sequential
+ * scan of events.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EventQueryPlanTest extends PostgresContainerSupport {
+
+    private static final String PLANNER_EMAIL = "planner@tickethub.test";
+    private static final int VENUES = 400;
+    private static final int EVENTS = 100_000;
+
+    private static final int PAGE_SIZE = 20;
+    private static final Sort KEYSET_SORT = Sort.by("eventDateTime", "id");
+    private static final PriceBuckets PRICE_BUCKETS =
+            new PriceBuckets(List.of(BigDecimal.valueOf(25), BigDecimal.valueOf(50), BigDecimal.valueOf(100)));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CityDictionary cityDictionary;
+
+    @BeforeAll
+    void seedCatalog() {
+        jdbcTemplate.update("INSERT INTO users (email, password, role, name) VALUES (?, 'x', 'ADMIN', 'Planner')",
+                PLANNER_EMAIL);
+        jdbcTemplate.update("INSERT INTO venues (name, address, city, state, zip_code, capacity)"
+                + " SELECT 'Plan Venue ' || g, g || ' Main St', 'City ' || (g % 40), 'BC', 'V6B', 50000"
+                + " FROM generate_series(0, ?) g", VENUES - 1);
+        jdbcTemplate.update("WITH v AS (SELECT id, row_number() OVER (ORDER BY id) - 1 AS n"
+                + "           FROM venues WHERE name LIKE 'Plan Venue %'),"
+                + "      u AS (SELECT id FROM users WHERE email = ?)"
+                + " INSERT INTO events (name, description, artist_name, event_date_time, price, total_tickets,"
+                + "                     available_tickets, status, category, venue_id, created_by_user_id)"
+                + " SELECT 'Show ' || g || ' ' || md5(g::text), 'Seeded', 'Artist ' || (g % 5000),"
+                + "        TIMESTAMP '2024-01-01' + g * INTERVAL '15 minutes', (g % 500) + 0.99, 1000, 1000,"
+                + "        CASE WHEN g % 10 < 2 THEN 'PUBLISHED' WHEN g % 10 = 2 THEN 'DRAFT'"
+                + "             WHEN g % 10 = 3 THEN 'CANCELLED' ELSE 'COMPLETED' END,"
+                + "        (ARRAY['MUSIC','SPORTS','THEATER','COMEDY','FESTIVAL','CONFERENCE','EXHIBITION','OTHER'])"
+                + "            [1 + g % 8],"
+                + "        v.id, u.id"
+                + " FROM generate_series(1, ?) g JOIN v ON v.n = g % ? CROSS JOIN u",
+                PLANNER_EMAIL, EVENTS, VENUES);
+        jdbcTemplate.execute("VACUUM ANALYZE events");
+        jdbcTemplate.execute("VACUUM ANALYZE venues");
+
+        // A cap below the 110 venues of "city 3" keeps one case on the city join
+        cityDictionary = new CityDictionary(venueRepository, 100, Duration.ofHours(1));
+        cityDictionary.rebuild();
+    }
+
+    @AfterAll
+    void removeCatalog() {
+        jdbcTemplate.update("DELETE FROM events WHERE created_by_user_id = (SELECT id FROM users WHERE email = ?)",
+                PLANNER_EMAIL);
+        jdbcTemplate.update("DELETE FROM venues WHERE name LIKE 'Plan Venue %'");
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", PLANNER_EMAIL);
+    }
+
+    Stream<Arguments> listingQueries() {
+        LocalDateTime from = LocalDateTime.of(2025, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 3, 8, 0, 0);
+        return Stream.of(
+                Arguments.of("published listing", listing(criteria(null, null, null, null, null, null, null))),
+                Arguments.of("deep keyset page", (Runnable) () -> eventRepository.findSummaryWindow(
+                        criteria(null, null, null, null, null, null, null).toSpecification()
+                                .and(EventSpecification.afterCursor(
+                                        new EventCursor(LocalDateTime.of(2026, 6, 1, 0, 0), 80_000L))),
+                        KEYSET_SORT, PAGE_SIZE + 1)),
+                Arguments.of("category", listing(criteria(null, EventCategory.THEATER, null, null, null, null, null))),
+                Arguments.of("city", listing(criteria(null, null, "city 7", null, null, null, null))),
+                Arguments.of("city over the venue cap",
+                        listing(criteria(null, null, "city 3", null, null, null, null))),
+                Arguments.of("search query", listing(criteria("artist 42", null, null, null, null, null, null))),
+                Arguments.of("ranked full-text search", (Runnable) () -> eventRepository.findRankedSummaries(
+                        criteria(null, null, null, null, null, null, null).toSpecification()
+                                .and(EventSpecification.matchesSearchQuery("artist 42")),
+                        "artist 42", PageRequest.of(0, PAGE_SIZE))),
+                Arguments.of("date range", listing(criteria(null, null, null, from, to, null, null))),
+                Arguments.of("price range", listing(criteria(null, null, null, null, null,
+                        BigDecimal.valueOf(50), BigDecimal.valueOf(60)))),
+                Arguments.of("category and price", listing(criteria(null, EventCategory.MUSIC, null, null, null,
+                        BigDecimal.valueOf(100), BigDecimal.valueOf(200)))),
+                Arguments.of("category, city and dates", listing(criteria(null, EventCategory.SPORTS, "city 7",
+                        LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 12, 31, 0, 0), null, null))),
+                Arguments.of("facets for a category and week", facets(criteria(null, EventCategory.MUSIC, null,
+                        from, to, null, null))),
+                Arguments.of("facets for a city", facets(criteria(null, null, "city 7", null, null, null, null))),
+                Arguments.of("facets for a search query", facets(criteria("artist 42", null, null, null, null,
+                        null, null))));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("listingQueries")
+    void listingQueryAvoidsSequentialScanOfEvents(String name, Runnable query) {
+        List<CapturedStatement> statements = capture(query);
+        assertThat(statements).as("Statements run for %s", name).isNotEmpty();
+
+        for (CapturedStatement statement : statements) {
+            List<String> plan = explain(statement);
+            assertThat(plan)
+                    .as("Plan for %s:%n%s%n%s", name, statement.sql(), String.join("\n", plan))
+                    .noneMatch(line -> line.contains("Seq Scan on events"));
+        }
+    }
+
+    private EventSearchCriteria criteria(String searchQuery, EventCategory category, String city,
+                                         LocalDateTime startDate, LocalDateTime endDate,
+                                         BigDecimal minPrice, BigDecimal maxPrice) {
+        return cityDictionary.resolve(EventSearchCriteria.of(
+                searchQuery, category, city, startDate, endDate, minPrice, maxPrice));
+    }
+
+    private Runnable listing(EventSearchCriteria criteria) {
+        return () -> eventRepository.findSummarySlice(criteria.toSpecification(),
+                PageRequest.of(0, PAGE_SIZE, KEYSET_SORT));
+    }
+
+    private Runnable facets(EventSearchCriteria criteria) {
+        return () -> eventRepository.countFacets(criteria, PRICE_BUCKETS);
+    }
+
+    private static List<CapturedStatement> capture(Runnable query) {
+        StatementCapture.STATEMENTS.clear();
+        StatementCapture.enabled = true;
+        try {
+            query.run();
+        } finally {
+            StatementCapture.enabled = false;
+        }
+        return List.copyOf(StatementCapture.STATEMENTS);
+    }
+
+    // Prepares EXPLAIN of the captured SQL and replays the same parameter bindings onto it
+    private List<String> explain(CapturedStatement statement) {
+        return jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+                for (Binding binding : statement.bindings()) {
+                    binding.method().invoke(explain, binding.args());
+                }
+                List<String> plan = new ArrayList<>();
+                try (ResultSet rows = explain.executeQuery()) {
+                    while (rows.next()) {
+                        plan.add(rows.getString(1));
+                    }
+                }
+                return plan;
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not replay a parameter binding", e);
+            }
+        });
+    }
+
+    private record Binding(Method method, Object[] args) {
+    }
+
+    private record CapturedStatement(String sql, List<Binding> bindings) {
+    }
+
+    /**
+     * Wraps the DataSource so every statement the repositories run (Hibernate and JDBC alike) is
+     * recorded with its parameter bindings while a capture is in progress.
+     */
+    @TestConfiguration
+    static class StatementCapture {
+
+        static final List<CapturedStatement> STATEMENTS = new CopyOnWriteArrayList<>();
+        static volatile boolean enabled;
+
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource
+                            ? proxy(DataSource.class, dataSource, StatementCapture::wrapConnection)
+                            : bean;
+                }
+            };
+        }
+
+        private static Object wrapConnection(Object target, Method method, Object[] args) throws Throwable {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection
+                    ? proxy(Connection.class, connection, StatementCapture::wrapStatement)
+                    : result;
+        }
+
+        private static Object wrapStatement(Object target, Method method, Object[] args) throws Throwable {
+            Object result = invoke(target, method, args);
+            if (!(result instanceof PreparedStatement statement) || !method.getName().equals("prepareStatement")) {
+                return result;
+            }
+            CapturedStatement captured = new CapturedStatement((String) args[0], new ArrayList<>());
+            return proxy(PreparedStatement.class, statement, (inner, call, callArgs) -> {
+                if (call.getName().startsWith("set") && callArgs != null && callArgs.length >= 2
+                        && callArgs[0] instanceof Integer) {
+                    captured.bindings().add(new Binding(call, callArgs.clone()));
+                } else if (call.getName().startsWith("execute") && enabled
+                        && captured.sql().toLowerCase(Locale.ROOT).contains("events")) {
+                    STATEMENTS.add(captured);
+                }
+                return invoke(inner, call, callArgs);
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, T target, Interceptor interceptor) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> interceptor.intercept(target, method, args)));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private interface Interceptor {
+            Object intercept(Object target, Method method, Object[] args) throws Throwable;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.tickethub.repository;
+
+import com.tickethub.dto.eventDto.EventSummaryResponse;
+import com.tickethub.entity.Event;
+import com.tickethub.entity.User;
+import com.tickethub.entity.Venue;
+import com.tickethub.enums.EventCategory;
+import com.tickethub.enums.EventStatus;
+import com.tickethub.specification.EventSpecification;
+import com.tickethub.support.PostgresContainerSupport;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class EventRepositoryTest extends PostgresContainerSupport {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seedEvents() {
+        User admin = userRepository.save(new User("admin@tickethub.test", "hash", "Admin"));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        // One venue per event so a lazy venue load would show up as one statement per row
+        for (int i = 0; i < PAGE_SIZE * 3; i++) {
+            Venue venue = venueRepository.save(Venue.builder()
+                    .name("Venue " + i)
+                    .address(i + " Main St")
+                    .city(i % 2 == 0 ? "Vancouver" : "Toronto")
+                    .state("BC")
+                    .zipCode("V6B")
+                    .capacity(1000)
+                    .build());
+            eventRepository.save(Event.builder()
+                    .name("Event " + i)
+                    .description("Description " + i)
+                    .artistName("Artist " + i)
+                    .eventDateTime(start.plusHours(i))
+                    .price(BigDecimal.valueOf(10 + i))
+                    .totalTickets(100)
+                    .availableTickets(100)
+                    .status(EventStatus.PUBLISHED)
+                    .category(EventCategory.MUSIC)
+                    .venue(venue)
+                    .createdBy(admin)
+                    .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void publishedListingPageUsesOneSelectAndOneCount() {
+        Page<EventSummaryResponse> page = eventRepository.findSummaries(
+                EventSpecification.isPublished(), PageRequest.of(1, PAGE_SIZE, Sort.by("eventDateTime")));
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getContent()).allSatisfy(event -> assertThat(event.getVenueName()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void filteredListingPageUsesOneSelectAndOneCount() {
+        Page<EventSummaryResponse> page = eventRepository.findSummaries(
+                EventSpecification.combineSpecifications("event", EventCategory.MUSIC, "vancouver",
+                        null, null, BigDecimal.ZERO, null),
+                PageRequest.of(0, PAGE_SIZE, Sort.by("eventDateTime")));
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getContent()).allSatisfy(event -> assertThat(event.getVenueCity()).isEqualTo("Vancouver"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void summaryWindowUsesASingleStatement() {
+        List<EventSummaryResponse> window = eventRepository.findSummaryWindow(
+                EventSpecification.isPublished(), Sort.by("eventDateTime", "id"), PAGE_SIZE + 1);
+
+        assertThat(window).hasSize(PAGE_SIZE + 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,70 @@
+package com.tickethub.repository;
+
+import com.tickethub.idempotency.StoredResponse;
+import com.tickethub.support.PostgresContainerSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(IdempotencyKeyRepository.class)
+class IdempotencyKeyRepositoryTest extends PostgresContainerSupport {
+
+    private static final String SCOPE = "scope-hash";
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Autowired
+    private IdempotencyKeyRepository repository;
+
+    @Test
+    void liveLeaseHoldsOffASecondClaim() {
+        assertThat(repository.claim(SCOPE, "first", NOW.plusSeconds(30), NOW)).isTrue();
+
+        assertThat(repository.claim(SCOPE, "second", NOW.plusSeconds(40), NOW.plusSeconds(10))).isFalse();
+        assertThat(repository.findCompleted(SCOPE)).isEmpty();
+    }
+
+    @Test
+    void lapsedLeaseIsTakenOverAndTheLateResponseIsNotStored() {
+        repository.claim(SCOPE, "first", NOW.plusSeconds(30), NOW);
+
+        // The first instance stopped renewing (it crashed or stalled) and the lease ran out
+        assertThat(repository.claim(SCOPE, "second", NOW.plusSeconds(90), NOW.plusSeconds(60))).isTrue();
+        assertThat(repository.complete(SCOPE, "first", response("first"), NOW.plusDays(1))).isFalse();
+        assertThat(repository.complete(SCOPE, "second", response("second"), NOW.plusDays(1))).isTrue();
+
+        assertThat(repository.findCompleted(SCOPE)).hasValueSatisfying(stored -> {
+            assertThat(stored.requestHash()).isEqualTo("second");
+            assertThat(stored.body()).containsExactly(1, 2, 3);
+        });
+    }
+
+    @Test
+    void renewedLeaseIsNotTakenOver() {
+        repository.claim(SCOPE, "first", NOW.plusSeconds(30), NOW);
+
+        assertThat(repository.renewLeases(List.of(SCOPE), NOW.plusSeconds(90))).isEqualTo(1);
+        assertThat(repository.claim(SCOPE, "second", NOW.plusSeconds(120), NOW.plusSeconds(60))).isFalse();
+    }
+
+    @Test
+    void releasedClaimCanBeClaimedAgain() {
+        repository.claim(SCOPE, "first", NOW.plusSeconds(30), NOW);
+
+        repository.release(SCOPE, "first");
+
+        assertThat(repository.claim(SCOPE, "first", NOW.plusSeconds(40), NOW.plusSeconds(10))).isTrue();
+    }
+
+    private static StoredResponse response(String requestHash) {
+        return new StoredResponse(requestHash, 201, "application/json", new byte[]{1, 2, 3});
+    }
+}
@@ -0,0 +1,57 @@
+package com.tickethub.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    @Test
+    void neverMissesAnAddedKey() {
+        BloomFilter filter = BloomFilter.create(100_000, 0.001);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put("token-" + i);
+        }
+
+        for (int i = 0; i < 100_000; i++) {
+            assertThat(filter.mightContain("token-" + i)).as("token-%d", i).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositiveRateIsNearTheConfiguredRate() {
+        assertThat(measuredFalsePositiveRate(50_000, 0.01)).isBetween(0.005, 0.015);
+        assertThat(measuredFalsePositiveRate(50_000, 0.001)).isBetween(0.0003, 0.002);
+    }
+
+    @Test
+    void isSizedInWholeWordsForTheExpectedKeys() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+
+        // -n ln p / (ln 2)^2 is 9,586 bits, rounded up to 150 words; k = m/n ln 2 rounds to 7
+        assertThat(filter.bitCount()).isEqualTo(9_600);
+        assertThat(filter.hashCount()).isEqualTo(7);
+    }
+
+    @Test
+    void rejectsRatesOutsideZeroAndOne() {
+        assertThatThrownBy(() -> BloomFilter.create(1_000, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BloomFilter.create(1_000, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static double measuredFalsePositiveRate(int keys, double configuredRate) {
+        BloomFilter filter = BloomFilter.create(keys, configuredRate);
+        for (int i = 0; i < keys; i++) {
+            filter.put("token-" + i);
+        }
+        int probes = 500_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+        return (double) falsePositives / probes;
+    }
+}
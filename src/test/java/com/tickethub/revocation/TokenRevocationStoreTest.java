@@ -0,0 +1,93 @@
+package com.tickethub.revocation;
+
+import com.tickethub.repository.RevokedTokenRepository;
+import com.tickethub.repository.RevokedTokenRepository.RevokedToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationStoreTest {
+
+    private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void asksTheTableUntilTheFirstLoad() {
+        TokenRevocationStore store = store(100, 0.001);
+        when(repository.isRevoked(eq("revoked"), any())).thenReturn(true);
+
+        assertThat(store.isRevoked("revoked")).isTrue();
+        verify(repository).isRevoked(eq("revoked"), any());
+    }
+
+    @Test
+    void purgeForgetsExpiredRevocationsAndRebuildsTheFilter() {
+        LocalDateTime now = LocalDateTime.now();
+        when(repository.findRevokedSince(any(), any())).thenReturn(List.of(
+                new RevokedToken("expired", now.minusHours(2), now.minusMinutes(1)),
+                new RevokedToken("live", now.minusHours(1), now.plusHours(1))));
+        TokenRevocationStore store = store(100, 0.001);
+        store.refresh();
+        assertThat(store.isRevoked("expired")).isTrue();
+
+        store.purgeExpired();
+
+        assertThat(store.isRevoked("live")).isTrue();
+        assertThat(store.isRevoked("expired")).isFalse();
+        // Rebuilt without the expired id, so the filter itself answers rather than the map
+        assertThat(checks("filtered")).isEqualTo(1);
+        assertThat(checks("false_positive")).isZero();
+        verify(repository).deleteExpired(any());
+    }
+
+    @Test
+    void purgeGrowsAFilterFilledPastItsExpectedEntries() {
+        when(repository.findRevokedSince(any(), any())).thenReturn(List.of());
+        TokenRevocationStore store = store(10, 0.01);
+        store.refresh();
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+        for (int i = 0; i < 1_000; i++) {
+            store.revoke("token-" + i, 1L, expiresAt);
+        }
+
+        double overfilled = falsePositiveRate(store, "before-");
+        store.purgeExpired();
+        double rebuilt = falsePositiveRate(store, "after-");
+
+        assertThat(overfilled).isGreaterThan(0.5);
+        assertThat(rebuilt).isLessThan(0.02);
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(store.isRevoked("token-" + i)).isTrue();
+        }
+    }
+
+    private TokenRevocationStore store(long expectedEntries, double falsePositiveRate) {
+        return new TokenRevocationStore(repository, expectedEntries, falsePositiveRate, meterRegistry);
+    }
+
+    // Share of never-revoked ids that got past the filter and had to be looked up in the map
+    private double falsePositiveRate(TokenRevocationStore store, String prefix) {
+        double before = checks("false_positive");
+        int probes = 10_000;
+        for (int i = 0; i < probes; i++) {
+            assertThat(store.isRevoked(prefix + i)).isFalse();
+        }
+        return (checks("false_positive") - before) / probes;
+    }
+
+    private double checks(String result) {
+        return meterRegistry.get("tickethub.security.revocation.checks").tag("result", result).counter().count();
+    }
+}
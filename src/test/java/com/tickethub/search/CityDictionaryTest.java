@@ -0,0 +1,99 @@
+package com.tickethub.search;
+
+import com.tickethub.dto.venueDto.CitySuggestionResponse;
+import com.tickethub.repository.VenueCityView;
+import com.tickethub.repository.venueRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CityDictionaryTest {
+
+    private final venueRepository venueRepository = mock(venueRepository.class);
+
+    @Test
+    void resolvesACitySubstringToTheVenuesOfEveryMatchingCity() {
+        stock(venue(1L, "New York"), venue(2L, " new york "), venue(3L, "Newark"), venue(4L, "York"));
+        CityDictionary dictionary = dictionary(500, Duration.ofMinutes(5));
+
+        assertThat(dictionary.resolve(criteria("york")).getCityVenueIds()).containsExactlyInAnyOrder(1L, 2L, 4L);
+        assertThat(dictionary.resolve(criteria("NEW")).getCityVenueIds()).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(dictionary.resolve(criteria("Paris")).getCityVenueIds()).isEmpty();
+        assertThat(dictionary.resolve(EventSearchCriteria.none()).getCityVenueIds()).isNull();
+    }
+
+    @Test
+    void leavesTheCityJoinWhenMoreVenuesMatchThanTheCap() {
+        stock(venue(1L, "Vancouver"), venue(2L, "Victoria"), venue(3L, "Calgary"));
+        CityDictionary dictionary = dictionary(2, Duration.ofMinutes(5));
+
+        EventSearchCriteria broad = criteria("a");
+        assertThat(dictionary.resolve(broad)).isSameAs(broad);
+        assertThat(dictionary.resolve(criteria("vic")).getCityVenueIds()).containsExactlyInAnyOrder(2L);
+    }
+
+    @Test
+    void leavesTheCityJoinUntilBuiltAndOnceStale() {
+        stock(venue(1L, "Vancouver"));
+        EventSearchCriteria vancouver = criteria("vancouver");
+
+        CityDictionary fresh = new CityDictionary(venueRepository, 500, Duration.ofMinutes(5));
+        assertThat(fresh.resolve(vancouver)).isSameAs(vancouver);
+        fresh.rebuild();
+        assertThat(fresh.resolve(vancouver).getCityVenueIds()).containsExactlyInAnyOrder(1L);
+
+        CityDictionary stale = dictionary(500, Duration.ZERO);
+        assertThat(stale.resolve(vancouver)).isSameAs(vancouver);
+    }
+
+    @Test
+    void failedRefreshKeepsThePreviousBuild() {
+        stock(venue(1L, "Vancouver"));
+        CityDictionary dictionary = dictionary(500, Duration.ofMinutes(5));
+        when(venueRepository.findAllCities()).thenThrow(new IllegalStateException("database down"));
+
+        dictionary.refresh();
+
+        assertThat(dictionary.resolve(criteria("van")).getCityVenueIds()).containsExactlyInAnyOrder(1L);
+    }
+
+    @Test
+    void autocompletesFromAnyWordWithTheMostCommonSpelling() {
+        stock(venue(1L, "New York"), venue(2L, "new york"), venue(3L, "New York"), venue(4L, "Newark"));
+        CityDictionary dictionary = dictionary(500, Duration.ofMinutes(5));
+
+        assertThat(dictionary.autocomplete("york", 10))
+                .extracting(CitySuggestionResponse::getCity, CitySuggestionResponse::getVenueCount)
+                .containsExactly(tuple("New York", 3));
+        assertThat(dictionary.autocomplete("new", 10)).extracting(CitySuggestionResponse::getCity)
+                .containsExactly("New York", "Newark");
+        assertThat(dictionary.autocomplete(" ", 10)).isEmpty();
+    }
+
+    private CityDictionary dictionary(int maxVenueIds, Duration maxAge) {
+        CityDictionary dictionary = new CityDictionary(venueRepository, maxVenueIds, maxAge);
+        dictionary.rebuild();
+        return dictionary;
+    }
+
+    private void stock(VenueCityView... venues) {
+        when(venueRepository.findAllCities()).thenReturn(List.of(venues));
+    }
+
+    private static EventSearchCriteria criteria(String city) {
+        return EventSearchCriteria.of(null, null, city, null, null, null, null);
+    }
+
+    private static VenueCityView venue(Long id, String city) {
+        VenueCityView venue = mock(VenueCityView.class);
+        when(venue.getId()).thenReturn(id);
+        when(venue.getCity()).thenReturn(city);
+        return venue;
+    }
+}
@@ -0,0 +1,135 @@
+package com.tickethub.search;
+
+import com.tickethub.dto.eventDto.EventSummaryResponse;
+import com.tickethub.enums.EventCategory;
+import com.tickethub.enums.EventStatus;
+import com.tickethub.repository.EventRepository;
+import com.tickethub.services.EventChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventSearchIndexTest {
+
+    private static final int UPDATERS = 4;
+    private static final int EVENTS_PER_UPDATER = 50;
+
+    // Stands in for the committed events table
+    private final Map<Long, EventSummaryResponse> database = new ConcurrentHashMap<>();
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final EventSearchIndex index = new EventSearchIndex(eventRepository, true);
+
+    @Test
+    void rebuildReplaysChangesCommittedWhileItWasLoading() {
+        publish(event(1L, "Before"));
+        when(eventRepository.findSummaries(any(), any())).thenAnswer(invocation -> {
+            List<EventSummaryResponse> snapshot = new ArrayList<>(database.values());
+            // Committed after the rebuild read the table
+            publish(event(2L, "During"));
+            return new PageImpl<>(snapshot);
+        });
+
+        index.rebuild();
+
+        assertThat(indexedNames()).containsExactlyInAnyOrder("Before", "During");
+    }
+
+    @Test
+    void overlappingRebuildsAndUpdatesEndWithTheCommittedEvents() throws Exception {
+        when(eventRepository.findSummaries(any(), any())).thenAnswer(invocation -> {
+            List<EventSummaryResponse> snapshot = new ArrayList<>(database.values());
+            // A slow load leaves room for other rebuilds and updates to overlap it
+            Thread.sleep(2);
+            return new PageImpl<>(snapshot);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(UPDATERS + 4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int rebuilder = 0; rebuilder < 4; rebuilder++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 20; i++) {
+                    index.rebuild();
+                }
+                return null;
+            }));
+        }
+        for (int updater = 0; updater < UPDATERS; updater++) {
+            long firstId = (long) updater * EVENTS_PER_UPDATER;
+            Random random = new Random(updater);
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    long id = firstId + random.nextInt(EVENTS_PER_UPDATER);
+                    if (random.nextInt(4) == 0) {
+                        unpublish(id);
+                    } else {
+                        publish(event(id, "Event " + id + " v" + i));
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertThat(indexedNames()).containsExactlyInAnyOrderElementsOf(
+                database.values().stream().map(EventSummaryResponse::getName).toList());
+    }
+
+    // Each change commits before its after-commit listener runs, as with a real transaction
+    private void publish(EventSummaryResponse event) {
+        EventSummaryResponse previous = database.put(event.getId(), event);
+        index.onEventChanged(new EventChangedEvent(event.getId(), previous, event));
+    }
+
+    private void unpublish(Long id) {
+        EventSummaryResponse previous = database.remove(id);
+        index.onEventChanged(new EventChangedEvent(id, previous, null));
+    }
+
+    private List<String> indexedNames() {
+        assertThat(index.isReady()).isTrue();
+        return index.search(EventSearchCriteria.none(), Pageable.unpaged()).orElseThrow()
+                .map(EventSummaryResponse::getName)
+                .toList();
+    }
+
+    private static EventSummaryResponse event(Long id, String name) {
+        return EventSummaryResponse.builder()
+                .id(id)
+                .name(name)
+                .artistName("Artist " + id)
+                .eventDateTime(LocalDateTime.of(2030, 1, 1, 20, 0).plusDays(id))
+                .price(BigDecimal.TEN)
+                .availableTickets(100)
+                .status(EventStatus.PUBLISHED)
+                .category(EventCategory.MUSIC)
+                .venueName("Arena")
+                .venueCity("Vancouver")
+                .build();
+    }
+}
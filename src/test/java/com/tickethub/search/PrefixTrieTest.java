@@ -0,0 +1,42 @@
+package com.tickethub.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixTrieTest {
+
+    private final PrefixTrie<String> trie = new PrefixTrie<>();
+
+    @Test
+    void completesKeysStartingWithThePrefixInAlphabeticalOrder() {
+        trie.put("vancouver", "Vancouver");
+        trie.put("newark", "Newark");
+        trie.put("new york", "New York");
+
+        assertThat(trie.complete("new", 10)).containsExactly("New York", "Newark");
+        assertThat(trie.complete("newa", 10)).containsExactly("Newark");
+        assertThat(trie.complete("x", 10)).isEmpty();
+    }
+
+    @Test
+    void valueUnderSeveralKeysIsReturnedOnce() {
+        // Cities are indexed under every word start
+        trie.put("new york", "New York");
+        trie.put("york", "New York");
+        trie.put("york", "York");
+
+        assertThat(trie.complete("york", 10)).containsExactly("New York", "York");
+        assertThat(trie.complete("", 10)).containsExactly("New York", "York");
+    }
+
+    @Test
+    void stopsAtTheLimit() {
+        trie.put("a", "A");
+        trie.put("ab", "Ab");
+        trie.put("abc", "Abc");
+
+        assertThat(trie.complete("a", 2)).containsExactly("A", "Ab");
+        assertThat(trie.complete("a", 0)).isEmpty();
+    }
+}
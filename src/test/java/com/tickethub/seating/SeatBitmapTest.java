@@ -0,0 +1,133 @@
+package com.tickethub.seating;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeatBitmapTest {
+
+    @Test
+    void everyRowStartsOnItsOwnWord() {
+        SeatBitmap bitmap = SeatBitmap.allAvailable(new int[]{64, 3, 70});
+
+        assertThat(bitmap.available()).isEqualTo(137);
+        assertThat(bitmap.bitOf(1, 0)).isEqualTo(64);
+        assertThat(bitmap.bitOf(2, 0)).isEqualTo(128);
+        assertThat(bitmap.toBytes()).hasSize(4 * Long.BYTES);
+    }
+
+    @Test
+    void takingAFullWordRowLeavesTheNextRowAlone() {
+        // The range ends on a word boundary, where the upper mask is -1L >>> -64, i.e. every bit
+        SeatBitmap bitmap = SeatBitmap.allAvailable(new int[]{64, 64});
+
+        bitmap.take(0, 0, 64);
+
+        assertThat(bitmap.available()).isEqualTo(64);
+        assertThat(bitmap.isAvailable(0, 63)).isFalse();
+        assertThat(bitmap.isAvailable(1, 0)).isTrue();
+        assertThat(bitmap.findBestInRow(0, 1)).isEqualTo(-1);
+    }
+
+    @Test
+    void takeAndReleaseAcrossAWordBoundary() {
+        SeatBitmap bitmap = SeatBitmap.allAvailable(new int[]{70});
+
+        bitmap.take(0, 60, 8);
+
+        assertThat(bitmap.isAvailable(0, 59)).isTrue();
+        for (int seat = 60; seat < 68; seat++) {
+            assertThat(bitmap.isAvailable(0, seat)).as("seat %d", seat).isFalse();
+        }
+        assertThat(bitmap.isAvailable(0, 68)).isTrue();
+        assertThat(bitmap.available()).isEqualTo(62);
+
+        bitmap.release(0, 60, 8);
+        assertThat(bitmap.available()).isEqualTo(70);
+    }
+
+    @Test
+    void findsAFreeRunThatSpansWords() {
+        SeatBitmap bitmap = SeatBitmap.allAvailable(new int[]{130});
+        bitmap.take(0, 0, 62);
+        bitmap.take(0, 67, 63);
+
+        assertThat(bitmap.findBestInRow(0, 5)).isEqualTo(62);
+        assertThat(bitmap.findBestInRow(0, 6)).isEqualTo(-1);
+    }
+
+    @Test
+    void findsAFreeRunEndingAtTheEndOfTheRow() {
+        // The last word has bits past the row's end, which must not count as seats
+        SeatBitmap bitmap = SeatBitmap.allAvailable(new int[]{70, 10});
+        bitmap.take(0, 0, 65);
+
+        assertThat(bitmap.findBestInRow(0, 5)).isEqualTo(65);
+        assertThat(bitmap.findBestInRow(0, 6)).isEqualTo(-1);
+    }
+
+    @Test
+    void prefersTheMiddleOfTheRow() {
+        SeatBitmap even = SeatBitmap.allAvailable(new int[]{10});
+        assertThat(even.findBestInRow(0, 2)).isEqualTo(4);
+        assertThat(even.findBestInRow(0, 3)).isEqualTo(3);
+
+        SeatBitmap odd = SeatBitmap.allAvailable(new int[]{9});
+        assertThat(odd.findBestInRow(0, 3)).isEqualTo(3);
+    }
+
+    @Test
+    void movesAsCloseToTheMiddleAsTheFreeRunsAllow() {
+        SeatBitmap bitmap = SeatBitmap.allAvailable(new int[]{20});
+        bitmap.take(0, 8, 4);
+
+        // Seats 0-7 and 12-19 are free; the best pair in each is equally far from the middle, so the first wins
+        assertThat(bitmap.findBestInRow(0, 2)).isEqualTo(6);
+
+        bitmap.take(0, 0, 8);
+        assertThat(bitmap.findBestInRow(0, 2)).isEqualTo(12);
+    }
+
+    @Test
+    void bytesUsePostgresBitNumbering() {
+        SeatBitmap bitmap = SeatBitmap.allAvailable(new int[]{64, 5});
+        bitmap.take(0, 9, 1);
+
+        byte[] bytes = bitmap.toBytes();
+
+        // Bit 9 is bit 1 of byte 1, as get_bit(seats, 9) reads it
+        assertThat(bytes[1]).isEqualTo((byte) 0xFD);
+        assertThat(bytes[8]).isEqualTo((byte) 0x1F);
+        SeatBitmap restored = SeatBitmap.fromBytes(new int[]{64, 5}, bytes);
+        assertThat(restored.isAvailable(0, 9)).isFalse();
+        assertThat(restored.available()).isEqualTo(68);
+    }
+
+    @Test
+    void rejectsBytesThatDoNotFitTheLayout() {
+        assertThatThrownBy(() -> SeatBitmap.fromBytes(new int[]{10}, new byte[5]))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> SeatBitmap.fromBytes(new int[]{10}, new byte[16]))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rejectsSeatsOutsideTheRow() {
+        SeatBitmap bitmap = SeatBitmap.allAvailable(new int[]{10});
+
+        assertThatThrownBy(() -> bitmap.take(0, 8, 3)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThat(bitmap.available()).isEqualTo(10);
+    }
+
+    @Test
+    void copiesAreIndependent() {
+        SeatBitmap bitmap = SeatBitmap.allAvailable(new int[]{10});
+        SeatBitmap copy = bitmap.copy();
+
+        copy.take(0, 0, 10);
+
+        assertThat(bitmap.available()).isEqualTo(10);
+        assertThat(copy.available()).isZero();
+    }
+}
@@ -0,0 +1,102 @@
+package com.tickethub.services;
+
+import com.tickethub.entity.Event;
+import com.tickethub.exception.InsufficientTicketsException;
+import com.tickethub.support.PostgresContainerSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BookingServiceConcurrencyTest extends PostgresContainerSupport {
+
+    private static final int TICKETS = 500;
+    private static final int BUYERS = 5_000;
+    private static final int THREADS = 200;
+
+    @Autowired
+    private BookingService bookingService;
+
+    private Event event;
+
+    @BeforeEach
+    void seedEvent() {
+        event = seedPublishedEvent("On sale", TICKETS);
+    }
+
+    @Test
+    void singleTicketBuyersNeverOversell() throws Exception {
+        Result result = buyConcurrently(() -> 1);
+
+        assertThat(result.ticketsSold).isEqualTo(TICKETS);
+        assertThat(result.successfulBookings).isEqualTo(TICKETS);
+        assertThat(result.rejectedBookings).isEqualTo(BUYERS - TICKETS);
+        assertThat(availableTickets()).isZero();
+    }
+
+    @Test
+    void mixedQuantityBuyersNeverOversell() throws Exception {
+        Result result = buyConcurrently(() -> ThreadLocalRandom.current().nextInt(1, 5));
+
+        assertThat(result.ticketsSold).isLessThanOrEqualTo(TICKETS);
+        assertThat(availableTickets()).isEqualTo(TICKETS - result.ticketsSold).isGreaterThanOrEqualTo(0);
+        // With 5000 buyers for 500 tickets, anything left is smaller than the largest request
+        assertThat(availableTickets()).isLessThan(4);
+    }
+
+    private Result buyConcurrently(QuantitySource quantities) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger ticketsSold = new AtomicInteger();
+        AtomicInteger successfulBookings = new AtomicInteger();
+        AtomicInteger rejectedBookings = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < BUYERS; i++) {
+            int quantity = quantities.next();
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    bookingService.bookTickets(event.getId(), quantity, "buyer@tickethub.test");
+                    ticketsSold.addAndGet(quantity);
+                    successfulBookings.incrementAndGet();
+                } catch (InsufficientTicketsException e) {
+                    rejectedBookings.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            // Any other exception fails the test here
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        return new Result(ticketsSold.get(), successfulBookings.get(), rejectedBookings.get());
+    }
+
+    private int availableTickets() {
+        return eventRepository.findById(event.getId()).orElseThrow().getAvailableTickets();
+    }
+
+    private interface QuantitySource {
+        int next();
+    }
+
+    private record Result(int ticketsSold, int successfulBookings, int rejectedBookings) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.tickethub.services;
+
+import com.tickethub.entity.Event;
+import com.tickethub.exception.InsufficientTicketsException;
+import com.tickethub.inventory.CoalescingTicketInventory;
+import com.tickethub.inventory.TicketInventory;
+import com.tickethub.support.PostgresContainerSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bookings through the coalescing inventory with the default connection pool: far more concurrent
+ * buyers than connections, some of them inside transactions of their own that roll back.
+ */
+@SpringBootTest(properties = "tickethub.inventory.strategy=coalescing")
+class CoalescingBookingServiceTest extends PostgresContainerSupport {
+
+    private static final int TICKETS = 500;
+    private static final int BUYERS = 2_000;
+    private static final int THREADS = 200;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TicketInventory ticketInventory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Event event;
+
+    @BeforeEach
+    void seedEvent() {
+        event = seedPublishedEvent("Coalesced sale", TICKETS);
+    }
+
+    @Test
+    void batchesBookingsWithoutExhaustingThePool() throws Exception {
+        assertThat(ticketInventory).isInstanceOf(CoalescingTicketInventory.class);
+        AtomicInteger sold = new AtomicInteger();
+
+        run(BUYERS, i -> {
+            try {
+                sold.addAndGet(bookingService.bookTickets(event.getId(), 1, "buyer@tickethub.test").getQuantity());
+            } catch (InsufficientTicketsException e) {
+                // Sold out
+            }
+        });
+
+        assertThat(sold.get()).isEqualTo(TICKETS);
+        assertThat(availableTickets()).isZero();
+    }
+
+    @Test
+    void bookingInsideARolledBackTransactionKeepsNoTickets() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        AtomicInteger sold = new AtomicInteger();
+
+        // Every other buyer books inside a transaction that then rolls back, while the rest are batched
+        run(TICKETS, i -> {
+            if (i % 2 == 0) {
+                transaction.executeWithoutResult(status -> {
+                    bookingService.bookTickets(event.getId(), 1, "buyer@tickethub.test");
+                    status.setRollbackOnly();
+                });
+            } else {
+                sold.addAndGet(bookingService.bookTickets(event.getId(), 1, "buyer@tickethub.test").getQuantity());
+            }
+        });
+
+        assertThat(availableTickets()).isEqualTo(TICKETS - sold.get());
+    }
+
+    private void run(int buyers, Buyer buyer) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < buyers; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                buyer.buy(index);
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            // A pool deadlock shows up as a timeout here, any other exception fails the test too
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+    }
+
+    private int availableTickets() {
+        return eventRepository.findById(event.getId()).orElseThrow().getAvailableTickets();
+    }
+
+    private interface Buyer {
+        void buy(int index);
+    }
+}
@@ -0,0 +1,117 @@
+package com.tickethub.services;
+
+import com.tickethub.entity.Event;
+import com.tickethub.exception.EventConflictException;
+import com.tickethub.services.EventMutationExecutor.LockingStrategy;
+import com.tickethub.support.PostgresContainerSupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read-modify-write throughput on one hot event row under optimistic versioning with retries
+ * against SELECT ... FOR UPDATE. Run with {@code mvn test -Pbenchmark}; throughput and abort rates
+ * are logged, only the absence of lost updates is asserted.
+ */
+@Tag("benchmark")
+@Slf4j
+@SpringBootTest(properties = "spring.datasource.hikari.maximum-pool-size=32")
+class EventLockingBenchmarkTest extends PostgresContainerSupport {
+
+    private static final int TICKETS = 10_000_000;
+    private static final int THREADS = 32;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final Duration RETRY_BACKOFF = Duration.ofMillis(2);
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(15);
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Event event;
+
+    @BeforeEach
+    void seedEvent() {
+        event = seedPublishedEvent("Locking benchmark", TICKETS);
+    }
+
+    @ParameterizedTest
+    @EnumSource(LockingStrategy.class)
+    void hotEventUnderContention(LockingStrategy strategy) throws Exception {
+        measure(executor(strategy, new SimpleMeterRegistry()), WARMUP);
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        EventMutationExecutor executor = executor(strategy, registry);
+        int before = available();
+        measure(executor, MEASUREMENT);
+
+        long committed = (long) count(registry, "committed");
+        long conflicts = (long) count(registry, "conflict");
+        long aborted = (long) count(registry, "aborted");
+        assertThat(available()).isEqualTo(before - committed);
+        log.info("{}: {} threads, {} commits/s, {}% of attempts conflicted, {}% of mutations aborted",
+                strategy, THREADS, String.format("%.0f", committed / (double) MEASUREMENT.toSeconds()),
+                String.format("%.1f", 100.0 * conflicts / Math.max(1, committed + conflicts)),
+                String.format("%.2f", 100.0 * aborted / Math.max(1, committed + aborted)));
+    }
+
+    private EventMutationExecutor executor(LockingStrategy strategy, MeterRegistry registry) {
+        return new EventMutationExecutor(eventRepository, transactionManager, strategy, MAX_ATTEMPTS, RETRY_BACKOFF, registry);
+    }
+
+    private void measure(EventMutationExecutor executor, Duration duration) throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<?>> workers = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            workers.add(threads.submit(() -> {
+                start.await();
+                while (System.nanoTime() < deadline) {
+                    try {
+                        executor.mutate(event.getId(), locked -> {
+                            locked.setAvailableTickets(locked.getAvailableTickets() - 1);
+                            return null;
+                        });
+                    } catch (EventConflictException e) {
+                        // Counted as aborted by the executor
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+        threads.shutdown();
+    }
+
+    private static double count(MeterRegistry registry, String outcome) {
+        return registry.get("tickethub.events.mutations").tag("outcome", outcome).counter().count();
+    }
+
+    private int available() {
+        return eventRepository.findById(event.getId()).orElseThrow().getAvailableTickets();
+    }
+}
@@ -0,0 +1,94 @@
+package com.tickethub.services;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.crypto.SecretKey;
+import java.util.Collection;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-request cost of authenticating a bearer token: the old path, which rebuilt the key and parser
+ * on every call and parsed the token three times, against a single {@link JwtService#verify}. Run
+ * with {@code mvn clean test -Pbenchmark} so the JMH harness gets generated; timings are printed, only
+ * that both paths accept the token is asserted.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmarkTest {
+
+    private static final String SECRET = "benchmark-secret-that-is-long-enough-for-hs256-signing";
+    private static final long EXPIRATION = TimeUnit.HOURS.toMillis(1);
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, EXPIRATION);
+        userDetails = User.withUsername("fan@tickethub.test").password("unused").roles("USER").build();
+        token = jwtService.generateToken(userDetails.getUsername(), "USER", 42L);
+    }
+
+    @Benchmark
+    public boolean perCallParser() {
+        // What the filter used to do: extractUsername, then validateToken re-extracting both claims
+        String username = legacyExtract(token, Claims::getSubject);
+        return username.equals(userDetails.getUsername())
+                && legacyExtract(token, Claims::getSubject).equals(userDetails.getUsername())
+                && !legacyExtract(token, Claims::getExpiration).before(new Date());
+    }
+
+    @Benchmark
+    public boolean singleParse() {
+        return jwtService.verify(token)
+                .map(verified -> verified.subject().equals(userDetails.getUsername()))
+                .orElse(false);
+    }
+
+    private static <T> T legacyExtract(String token, Function<Claims, T> resolver) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+        return resolver.apply(claims);
+    }
+
+    @Test
+    void compareVerificationPaths() throws Exception {
+        setUp();
+        assertThat(perCallParser()).isTrue();
+        assertThat(singleParse()).isTrue();
+
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmarkTest.class.getName() + "\\.")
+                .build()).run();
+        assertThat(results).hasSize(2);
+    }
+}
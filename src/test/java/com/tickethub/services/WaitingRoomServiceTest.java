@@ -0,0 +1,76 @@
+package com.tickethub.services;
+
+import com.tickethub.dto.eventDto.EventSummaryResponse;
+import com.tickethub.enums.EventStatus;
+import com.tickethub.exception.QueueAdmissionException;
+import com.tickethub.inventory.TicketInventory;
+import com.tickethub.waitingroom.QueueTokenSigner;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.OptionalInt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WaitingRoomServiceTest {
+
+    private static final Long EVENT_ID = 7L;
+
+    private final TicketInventory ticketInventory = mock(TicketInventory.class);
+    private final QueueTokenSigner signer =
+            new QueueTokenSigner("test-secret-key-that-is-at-least-32-characters-long", Duration.ofHours(2));
+
+    WaitingRoomServiceTest() {
+        when(ticketInventory.available(any())).thenReturn(OptionalInt.of(100));
+    }
+
+    @Test
+    void tokenFromARecreatedRoomIsRefused() {
+        WaitingRoomService service = service();
+        String earlier = service.join(EVENT_ID, "first@tickethub.test").getQueueToken();
+
+        // The sale closes and reopens, and the new room hands out position 1 again
+        service.onEventChanged(change(EventStatus.CANCELLED));
+        String current = service.join(EVENT_ID, "second@tickethub.test").getQueueToken();
+
+        assertThat(service.status(EVENT_ID, current).getPosition()).isEqualTo(1);
+        assertThatThrownBy(() -> service.status(EVENT_ID, earlier))
+                .isInstanceOf(QueueAdmissionException.class)
+                .hasMessageContaining("earlier waiting room");
+    }
+
+    @Test
+    void tokenFromAnotherInstanceIsRefused() {
+        WaitingRoomService first = service();
+        WaitingRoomService second = service();
+        String token = first.join(EVENT_ID, "fan@tickethub.test").getQueueToken();
+        second.join(EVENT_ID, "fan@tickethub.test");
+
+        assertThatThrownBy(() -> second.status(EVENT_ID, token))
+                .isInstanceOf(QueueAdmissionException.class)
+                .hasMessageContaining("earlier waiting room");
+    }
+
+    @Test
+    void sellingOutKeepsTheRoomAndItsTokens() {
+        WaitingRoomService service = service();
+        String token = service.join(EVENT_ID, "fan@tickethub.test").getQueueToken();
+
+        service.onEventChanged(change(EventStatus.SOLD_OUT));
+
+        assertThat(service.status(EVENT_ID, token).getAdmitted()).isTrue();
+    }
+
+    private WaitingRoomService service() {
+        return new WaitingRoomService(ticketInventory, signer, true, 10, 10, Duration.ofSeconds(1));
+    }
+
+    private static EventChangedEvent change(EventStatus status) {
+        EventSummaryResponse current = EventSummaryResponse.builder().id(EVENT_ID).status(status).build();
+        return new EventChangedEvent(EVENT_ID, null, current);
+    }
+}
@@ -0,0 +1,94 @@
+package com.tickethub.support;
+
+import com.tickethub.entity.Event;
+import com.tickethub.entity.User;
+import com.tickethub.entity.Venue;
+import com.tickethub.enums.EventCategory;
+import com.tickethub.enums.EventStatus;
+import com.tickethub.repository.EventRepository;
+import com.tickethub.repository.UserRepository;
+import com.tickethub.repository.venueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Base class for tests that need the real PostgreSQL dialect and Flyway schema.
+ * One container is shared by every subclass in the JVM; the tests are skipped when Docker is unavailable.
+ * Events made with {@link #seedPublishedEvent} are deleted, with their venue and admin, after each test.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresContainerSupport {
+
+    protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+    @Autowired
+    protected EventRepository eventRepository;
+
+    @Autowired
+    protected venueRepository venueRepository;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    private final List<Event> seededEvents = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        POSTGRES.start();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("jwt.secret", () -> "test-secret-key-that-is-at-least-32-characters-long");
+    }
+
+    /**
+     * Saves a published event with {@code tickets} on sale, in a venue of that capacity and
+     * created by an admin of its own.
+     */
+    protected Event seedPublishedEvent(String name, int tickets) {
+        String slug = name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+        User admin = userRepository.save(new User(slug + "-admin@tickethub.test", "hash", "Admin"));
+        Venue venue = venueRepository.save(Venue.builder()
+                .name(name + " Arena")
+                .address("1 Main St")
+                .city("Vancouver")
+                .state("BC")
+                .zipCode("V6B")
+                .capacity(tickets)
+                .build());
+        Event event = eventRepository.save(Event.builder()
+                .name(name)
+                .description("Hot event")
+                .eventDateTime(LocalDateTime.now().plusDays(30))
+                .price(BigDecimal.TEN)
+                .totalTickets(tickets)
+                .availableTickets(tickets)
+                .status(EventStatus.PUBLISHED)
+                .category(EventCategory.MUSIC)
+                .venue(venue)
+                .createdBy(admin)
+                .build());
+        seededEvents.add(event);
+        return event;
+    }
+
+    @AfterEach
+    void deleteSeededEvents() {
+        for (Event event : seededEvents) {
+            eventRepository.deleteById(event.getId());
+            venueRepository.deleteById(event.getVenue().getId());
+            userRepository.deleteById(event.getCreatedBy().getId());
+        }
+        seededEvents.clear();
+    }
+}
@@ -0,0 +1,86 @@
+package com.tickethub.waitingroom;
+
+import com.tickethub.exception.QueueAdmissionException;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueueTokenSignerTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-32-characters-long";
+    private static final String ROOM = "3f2c7a0e-room";
+
+    private final QueueTokenSigner signer = new QueueTokenSigner(SECRET, Duration.ofHours(2));
+
+    @Test
+    void verifiesWhatItSigned() {
+        QueueTicket ticket = new QueueTicket(42L, ROOM, "fan|with|pipes@tickethub.test", 1_234, now());
+
+        assertThat(signer.verify(signer.sign(ticket))).isEqualTo(ticket);
+    }
+
+    @Test
+    void rejectsATamperedPayload() {
+        String token = signer.sign(new QueueTicket(42L, ROOM, "fan@tickethub.test", 1_234, now()));
+        String forged = signer.sign(new QueueTicket(42L, ROOM, "fan@tickethub.test", 1, now()));
+        String spliced = forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.'));
+
+        assertThatThrownBy(() -> signer.verify(spliced))
+                .isInstanceOf(QueueAdmissionException.class)
+                .hasMessage("Invalid queue token");
+    }
+
+    @Test
+    void rejectsATokenSignedWithAnotherSecret() {
+        QueueTokenSigner other = new QueueTokenSigner("another-secret-key-that-is-32-characters", Duration.ofHours(2));
+        String token = other.sign(new QueueTicket(42L, ROOM, "fan@tickethub.test", 7, now()));
+
+        assertThatThrownBy(() -> signer.verify(token))
+                .isInstanceOf(QueueAdmissionException.class)
+                .hasMessage("Invalid queue token");
+    }
+
+    @Test
+    void doesNotSignWithTheSecretItself() throws Exception {
+        String token = signer.sign(new QueueTicket(42L, ROOM, "fan@tickethub.test", 7, now()));
+        byte[] payload = Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.')));
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String signedWithSecret = token.substring(0, token.indexOf('.') + 1)
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(payload));
+
+        assertThatThrownBy(() -> signer.verify(signedWithSecret))
+                .isInstanceOf(QueueAdmissionException.class)
+                .hasMessage("Invalid queue token");
+    }
+
+    @Test
+    void rejectsAnExpiredToken() {
+        long issuedAt = Instant.now().minus(Duration.ofHours(3)).getEpochSecond();
+        String token = signer.sign(new QueueTicket(42L, ROOM, "fan@tickethub.test", 7, issuedAt));
+
+        assertThatThrownBy(() -> signer.verify(token))
+                .isInstanceOf(QueueAdmissionException.class)
+                .hasMessage("Queue token has expired");
+    }
+
+    @Test
+    void rejectsMissingAndMalformedTokens() {
+        assertThatThrownBy(() -> signer.verify(null)).hasMessage("Queue token is required");
+        assertThatThrownBy(() -> signer.verify(" ")).hasMessage("Queue token is required");
+        assertThatThrownBy(() -> signer.verify("no-signature")).hasMessage("Invalid queue token");
+        assertThatThrownBy(() -> signer.verify("!!!.???")).hasMessage("Invalid queue token");
+    }
+
+    private static long now() {
+        return Instant.now().getEpochSecond();
+    }
+}
@@ -0,0 +1,48 @@
+package com.tickethub.waitingroom;
+
+import com.tickethub.ratelimit.TokenBucket;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WaitingRoomTest {
+
+    // Slow enough that nothing refills while a test runs
+    private static final double NO_REFILL = 0.001;
+
+    @Test
+    void handsOutPositionsInArrivalOrderAndKeepsThemOnRejoin() {
+        WaitingRoom room = new WaitingRoom(new TokenBucket(10, NO_REFILL));
+
+        assertThat(room.join("a@tickethub.test")).isEqualTo(1);
+        assertThat(room.join("b@tickethub.test")).isEqualTo(2);
+        assertThat(room.join("a@tickethub.test")).isEqualTo(1);
+        assertThat(room.join("c@tickethub.test")).isEqualTo(3);
+    }
+
+    @Test
+    void admitsOnlyAsFastAsTheBucketAllows() {
+        WaitingRoom room = new WaitingRoom(new TokenBucket(2, NO_REFILL));
+        for (int i = 0; i < 5; i++) {
+            room.join("fan" + i + "@tickethub.test");
+        }
+
+        assertThat(room.admittedThrough()).isEqualTo(2);
+        assertThat(room.admittedThrough()).isEqualTo(2);
+    }
+
+    @Test
+    void theLineNeverPassesTheLastVisitor() {
+        WaitingRoom room = new WaitingRoom(new TokenBucket(10, NO_REFILL));
+
+        assertThat(room.admittedThrough()).isZero();
+        room.join("a@tickethub.test");
+        room.join("b@tickethub.test");
+        assertThat(room.admittedThrough()).isEqualTo(2);
+
+        // Admissions not needed yet stay in the bucket for later arrivals
+        room.join("c@tickethub.test");
+        assertThat(room.admittedThrough()).isEqualTo(3);
+        assertThat(room.admissionsPerSecond()).isEqualTo(NO_REFILL);
+    }
+}